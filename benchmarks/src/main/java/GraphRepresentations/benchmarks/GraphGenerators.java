@@ -0,0 +1,144 @@
+package GraphRepresentations.benchmarks;
+
+import GraphRepresentations.PrimitiveEdgeList;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Seeded graph generators, so every benchmark run sees exactly the same graphs.
+// Weights are drawn uniformly from 1..MAX_WEIGHT. No generator repeats a
+// vertex pair: the adjacency matrix keeps one edge per pair while the other
+// representations keep them all, so repeats would give them different graphs.
+public class GraphGenerators {
+    public static final int MAX_WEIGHT = 1000;
+
+    public enum Shape {
+        // Connected random graph with an average degree of about 8
+        RANDOM,
+        // Square 4-neighbour grid
+        GRID,
+        // Every pair of vertices connected
+        COMPLETE
+    }
+
+    // Vertex counts per shape, complete graphs are kept much smaller
+    public enum Size {
+        SMALL(1_000, 1_024, 100),
+        MEDIUM(100_000, 102_400, 700),
+        LARGE(1_000_000, 1_000_000, 2_000);
+
+        private final int randomVertices;
+        private final int gridVertices;
+        private final int completeVertices;
+
+        Size(int randomVertices, int gridVertices, int completeVertices) {
+            this.randomVertices = randomVertices;
+            this.gridVertices = gridVertices;
+            this.completeVertices = completeVertices;
+        }
+
+        public int numVertices(Shape shape) {
+            switch (shape) {
+                case GRID:
+                    return gridVertices;
+                case COMPLETE:
+                    return completeVertices;
+                case RANDOM:
+                default:
+                    return randomVertices;
+            }
+        }
+    }
+
+    private GraphGenerators() {
+    }
+
+    // Number of vertices the generated graph really has, grids round down to a square
+    public static int actualVertices(Shape shape, int numVertices) {
+        if (shape == Shape.GRID) {
+            int side = (int) Math.sqrt(numVertices);
+            return side * side;
+        }
+        return numVertices;
+    }
+
+    public static PrimitiveEdgeList generate(Shape shape, int numVertices, long seed) {
+        switch (shape) {
+            case GRID:
+                return grid((int) Math.sqrt(numVertices), seed);
+            case COMPLETE:
+                return complete(numVertices, seed);
+            case RANDOM:
+            default:
+                return random(numVertices, 8, seed);
+        }
+    }
+
+    public static PrimitiveEdgeList random(int numVertices, int averageDegree, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long numEdges = Math.max((long) numVertices * averageDegree / 2, numVertices - 1L);
+
+        numEdges = Math.min(numEdges, (long) numVertices * (numVertices - 1) / 2);
+        PrimitiveEdgeList edges = new PrimitiveEdgeList((int) numEdges);
+        // Open-addressing set of min * numVertices + max, -1 marks a free slot
+        long[] pairs = new long[Integer.highestOneBit((int) Math.max(numEdges, 1)) << 2];
+        Arrays.fill(pairs, -1);
+
+        // A random spanning tree first so the graph is connected
+        for (int v = 1; v < numVertices; v++) {
+            int u = random.nextInt(v);
+            addPair(pairs, (long) u * numVertices + v);
+            edges.add(u, v, 1 + random.nextInt(MAX_WEIGHT));
+        }
+        while (edges.size() < numEdges) {
+            int u = random.nextInt(numVertices);
+            int v = random.nextInt(numVertices);
+            if (u != v && addPair(pairs, (long) Math.min(u, v) * numVertices + Math.max(u, v))) {
+                edges.add(u, v, 1 + random.nextInt(MAX_WEIGHT));
+            }
+        }
+        return edges;
+    }
+
+    // False if the pair was already in the set
+    private static boolean addPair(long[] pairs, long pair) {
+        int mask = pairs.length - 1;
+        for (int slot = Long.hashCode(pair * 0x9E3779B97F4A7C15L) & mask; ; slot = (slot + 1) & mask) {
+            if (pairs[slot] == pair) {
+                return false;
+            }
+            if (pairs[slot] == -1) {
+                pairs[slot] = pair;
+                return true;
+            }
+        }
+    }
+
+    public static PrimitiveEdgeList grid(int side, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        PrimitiveEdgeList edges = new PrimitiveEdgeList(2 * side * side);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int v = row * side + col;
+                if (col + 1 < side) {
+                    edges.add(v, v + 1, 1 + random.nextInt(MAX_WEIGHT));
+                }
+                if (row + 1 < side) {
+                    edges.add(v, v + side, 1 + random.nextInt(MAX_WEIGHT));
+                }
+            }
+        }
+        return edges;
+    }
+
+    public static PrimitiveEdgeList complete(int numVertices, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        PrimitiveEdgeList edges = new PrimitiveEdgeList((int) ((long) numVertices * (numVertices - 1) / 2));
+        for (int u = 0; u < numVertices; u++) {
+            for (int v = u + 1; v < numVertices; v++) {
+                edges.add(u, v, 1 + random.nextInt(MAX_WEIGHT));
+            }
+        }
+        return edges;
+    }
+}
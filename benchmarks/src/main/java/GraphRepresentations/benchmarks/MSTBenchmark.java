@@ -0,0 +1,53 @@
+package GraphRepresentations.benchmarks;
+
+import GraphRepresentations.Edge;
+import GraphRepresentations.GraphUsingCSR;
+import GraphRepresentations.MinimumSpanningTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Compares the MST engines on the same CSR graph. Edge extraction is part of
+// the measured work for the edge-list algorithms, as it is for real callers.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MSTBenchmark {
+    @Param({"RANDOM", "GRID", "COMPLETE"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public GraphGenerators.Size size;
+
+    @Param({"PRIM", "KRUSKAL", "BORUVKA", "FILTER_KRUSKAL"})
+    public MinimumSpanningTree.Algorithm algorithm;
+
+    private GraphUsingCSR graph;
+
+    @Setup
+    public void setUp() {
+        int numVertices = size.numVertices(shape);
+        graph = new GraphUsingCSR.Builder(GraphGenerators.actualVertices(shape, numVertices))
+                .addEdges(GraphGenerators.generate(shape, numVertices, 42))
+                .build();
+    }
+
+    @Benchmark
+    public List<Edge> minimumSpanningTree() {
+        return MinimumSpanningTree.findMinimumSpanningTreeEdges(graph, algorithm);
+    }
+}
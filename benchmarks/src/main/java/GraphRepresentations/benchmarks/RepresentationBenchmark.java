@@ -0,0 +1,120 @@
+package GraphRepresentations.benchmarks;
+
+import GraphRepresentations.BinaryGraphFormat;
+import GraphRepresentations.Edge;
+import GraphRepresentations.GraphInterface;
+import GraphRepresentations.GraphUsingAdjacencyList;
+import GraphRepresentations.GraphUsingCSR;
+import GraphRepresentations.MinimumSpanningTree;
+import GraphRepresentations.OffHeapGraphUsingCSR;
+import GraphRepresentations.PrimitiveEdgeList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Runs the same MST algorithm on the same graph held in each representation.
+// Sizes stay small enough for the V x V adjacency matrix.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RepresentationBenchmark {
+    public enum Representation {
+        ADJACENCY_MATRIX, ADJACENCY_LIST, CSR, OFF_HEAP_CSR
+    }
+
+    @Param({"ADJACENCY_MATRIX", "ADJACENCY_LIST", "CSR", "OFF_HEAP_CSR"})
+    public Representation representation;
+
+    @Param({"RANDOM", "GRID", "COMPLETE"})
+    public GraphGenerators.Shape shape;
+
+    @Param({"256", "2048"})
+    public int numVertices;
+
+    @Param({"PRIM", "KRUSKAL"})
+    public MinimumSpanningTree.Algorithm algorithm;
+
+    private MinimumSpanningTree matrix;
+    private GraphUsingAdjacencyList list;
+    private GraphUsingCSR csr;
+    private OffHeapGraphUsingCSR offHeap;
+    private Path offHeapFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        int vertices = GraphGenerators.actualVertices(shape, numVertices);
+        PrimitiveEdgeList edges = GraphGenerators.generate(shape, numVertices, 42);
+        switch (representation) {
+            case ADJACENCY_MATRIX:
+                matrix = new MinimumSpanningTree(vertices);
+                for (int i = 0; i < edges.size(); i++) {
+                    matrix.addEdge(edges.toEdge(i));
+                }
+                break;
+            case ADJACENCY_LIST:
+                list = new GraphUsingAdjacencyList(vertices);
+                for (int i = 0; i < edges.size(); i++) {
+                    list.addEdge(edges.toEdge(i));
+                }
+                break;
+            case CSR:
+                csr = new GraphUsingCSR.Builder(vertices).addEdges(edges).build();
+                break;
+            case OFF_HEAP_CSR:
+                offHeapFile = Files.createTempFile("mst-benchmark", ".graph");
+                BinaryGraphFormat.write(new GraphUsingCSR.Builder(vertices).addEdges(edges).build(), offHeapFile);
+                offHeap = BinaryGraphFormat.map(offHeapFile);
+                break;
+        }
+        // Every representation has to hold the same graph for the comparison to mean anything
+        int numEdges = graph().getEdgeList().size();
+        if (numEdges != edges.size()) {
+            throw new IllegalStateException(representation + " holds " + numEdges + " edges, generated "
+                    + edges.size());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (offHeapFile != null) {
+            Files.deleteIfExists(offHeapFile);
+        }
+    }
+
+    @Benchmark
+    public List<Edge> minimumSpanningTree() {
+        return MinimumSpanningTree.findMinimumSpanningTreeEdges(graph(), algorithm);
+    }
+
+    private GraphInterface graph() {
+        switch (representation) {
+            case ADJACENCY_MATRIX:
+                return matrix;
+            case ADJACENCY_LIST:
+                return list;
+            case CSR:
+                return csr;
+            case OFF_HEAP_CSR:
+            default:
+                return offHeap;
+        }
+    }
+}
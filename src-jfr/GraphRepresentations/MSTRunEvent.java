@@ -0,0 +1,95 @@
+package GraphRepresentations;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Flight Recorder event with the MSTMetrics of one run, kept out of src so that
+// src builds for Java 8; see the jfr profile in core/pom.xml. Only loaded through
+// MSTMetrics.enableFlightRecorderEvents(), so the rest of the project still
+// runs on JVMs without jdk.jfr. The event is committed after the run, so its
+// own duration is zero; the run time is in the totalTime field.
+@Name("GraphRepresentations.MSTRun")
+@Label("MST Run")
+@Category({"Graph Representations", "MST"})
+@Description("Phase times and union-find counters of one minimum spanning tree computation")
+@StackTrace(false)
+class MSTRunEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Vertices")
+    int vertices;
+
+    @Label("Total Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long totalTime;
+
+    @Label("Extract Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long extractTime;
+
+    @Label("Sort Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long sortTime;
+
+    @Label("Union-Find Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long unionFindTime;
+
+    @Label("Solve Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long solveTime;
+
+    @Label("Result Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long resultTime;
+
+    @Label("Finds")
+    long finds;
+
+    @Label("Find Hops")
+    long findHops;
+
+    @Label("Unions")
+    long unions;
+
+    @Label("Edges Scanned")
+    long edgesScanned;
+
+    @Label("Edges Accepted")
+    long edgesAccepted;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+
+    static class Emitter implements MSTMetricsListener {
+        public void onRun(MSTMetrics metrics) {
+            MSTRunEvent event = new MSTRunEvent();
+            if (!event.shouldCommit()) {
+                return;
+            }
+            event.algorithm = metrics.getAlgorithm().name();
+            event.vertices = metrics.getNumVertices();
+            event.totalTime = metrics.getTotalNanos();
+            event.extractTime = metrics.getNanos(MSTMetrics.Phase.EXTRACT);
+            event.sortTime = metrics.getNanos(MSTMetrics.Phase.SORT);
+            event.unionFindTime = metrics.getNanos(MSTMetrics.Phase.UNION_FIND);
+            event.solveTime = metrics.getNanos(MSTMetrics.Phase.SOLVE);
+            event.resultTime = metrics.getNanos(MSTMetrics.Phase.RESULT);
+            event.finds = metrics.getFinds();
+            event.findHops = metrics.getFindHops();
+            event.unions = metrics.getUnions();
+            event.edgesScanned = metrics.getEdgesScanned();
+            event.edgesAccepted = metrics.getEdgesAccepted();
+            event.allocated = metrics.getAllocatedBytes();
+            event.commit();
+        }
+    }
+}
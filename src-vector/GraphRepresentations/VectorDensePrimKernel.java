@@ -0,0 +1,62 @@
+package GraphRepresentations;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// DensePrimMST's step with the Vector API, built by the vector profile of
+// core/pom.xml and loaded by DensePrimMST when jdk.incubator.vector is present.
+// Each chunk of the row is compared against the keys, the new keys and parents
+// are blended in, and the smallest key and its index are kept per lane; the
+// lanes are reduced once at the end.
+class VectorDensePrimKernel implements DensePrimMST.Kernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    public int relaxAndArgMin(int[] row, int[] key, int[] parent, int u, int n) {
+        int length = SPECIES.length();
+        int bound = SPECIES.loopBound(n);
+        IntVector source = IntVector.broadcast(SPECIES, u);
+        IntVector best = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        IntVector bestIndex = IntVector.broadcast(SPECIES, -1);
+        IntVector index = IntVector.zero(SPECIES).addIndex(1);
+        int v = 0;
+        for (; v < bound; v += length) {
+            IntVector w = IntVector.fromArray(SPECIES, row, v);
+            IntVector k = IntVector.fromArray(SPECIES, key, v);
+            VectorMask<Integer> closer = w.compare(VectorOperators.NE, 0)
+                    .and(w.compare(VectorOperators.LT, k));
+            // Blended full stores are faster than masked stores on AVX2
+            k = k.blend(w, closer);
+            k.intoArray(key, v);
+            IntVector.fromArray(SPECIES, parent, v).blend(source, closer).intoArray(parent, v);
+
+            // Strictly smaller, so each lane keeps its earliest index on ties
+            VectorMask<Integer> better = k.compare(VectorOperators.LT, best)
+                    .and(k.compare(VectorOperators.NE, DensePrimMST.IN_TREE));
+            best = best.blend(k, better);
+            bestIndex = bestIndex.blend(index, better);
+            index = index.add(length);
+        }
+
+        int min = best.reduceLanes(VectorOperators.MIN);
+        int minIndex = -1;
+        if (min != Integer.MAX_VALUE) {
+            // Lowest index among the lanes holding the minimum
+            minIndex = bestIndex.reduceLanes(VectorOperators.MIN, best.compare(VectorOperators.EQ, min));
+        }
+        for (; v < n; v++) {
+            int w = row[v];
+            if (w != 0 && w < key[v]) {
+                key[v] = w;
+                parent[v] = u;
+            }
+            int k = key[v];
+            if (k < min && k != DensePrimMST.IN_TREE) {
+                min = k;
+                minIndex = v;
+            }
+        }
+        return minIndex;
+    }
+}
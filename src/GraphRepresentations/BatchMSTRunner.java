@@ -0,0 +1,308 @@
+package GraphRepresentations;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Computes the MST of many edge files concurrently, without the GUI. Files are
+// processed on a fixed pool of threads, with at most two files per thread
+// queued at a time so a long stream of paths is not read ahead into memory.
+// Every worker thread loads and solves its graphs in its own MSTWorkspace, so
+// the edge list, sort keys, union-find and heap are reused from graph to graph.
+// The pool lives as long as the runner, so the workspaces also carry over
+// from one run to the next; close the runner to stop its threads.
+//
+// Command line:
+//   java -cp spanning-tree.jar GraphRepresentations.BatchMSTRunner
+//        [--threads N] [--algorithm KRUSKAL|PRIM|BORUVKA|FILTER_KRUSKAL]
+//        [--output results.tsv] [--edges dir] <directory | file | ->...
+// A directory stands for the regular files in it, "-" reads paths from stdin.
+// One tab-separated line per graph is written, in completion order; with
+// --edges the MST edges of each graph are also written to dir/<name>.mst.
+public class BatchMSTRunner implements AutoCloseable {
+    private final int maxQueued;
+    private final MinimumSpanningTree.Algorithm algorithm;
+    private final Path edgesDirectory;
+    private final ExecutorService pool;
+    // A permit per file that may be queued or running; all of them are free
+    // once every file handed to the pool has been solved
+    private final Semaphore queued;
+
+    public BatchMSTRunner(int numThreads, MinimumSpanningTree.Algorithm algorithm) {
+        this(numThreads, algorithm, null);
+    }
+
+    // edgesDirectory may be null, otherwise each graph's MST edges are saved there
+    public BatchMSTRunner(int numThreads, MinimumSpanningTree.Algorithm algorithm, Path edgesDirectory) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + numThreads);
+        }
+        this.maxQueued = 2 * numThreads;
+        this.algorithm = algorithm;
+        this.edgesDirectory = edgesDirectory;
+        this.pool = Executors.newFixedThreadPool(numThreads, runnable -> {
+            Thread thread = new Thread(runnable, "mst-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queued = new Semaphore(maxQueued);
+    }
+
+    public List<Result> run(List<Path> files) throws InterruptedException {
+        List<Result> results = new ArrayList<>(files.size());
+        run(files.iterator(), result -> {
+            synchronized (results) {
+                results.add(result);
+            }
+        });
+        return results;
+    }
+
+    // Hands each result to sink as soon as its graph is done; sink is called
+    // from the worker threads, one call at a time. Returns when every file has
+    // been solved; runs on one runner take turns.
+    public synchronized void run(Iterator<Path> files, Consumer<Result> sink) throws InterruptedException {
+        Object sinkLock = new Object();
+        try {
+            while (files.hasNext()) {
+                Path file = files.next();
+                queued.acquire();
+                pool.execute(() -> {
+                    try {
+                        Result result = solve(file, MSTWorkspace.current());
+                        synchronized (sinkLock) {
+                            sink.accept(result);
+                        }
+                    } finally {
+                        queued.release();
+                    }
+                });
+            }
+        } finally {
+            queued.acquire(maxQueued);
+            queued.release(maxQueued);
+        }
+    }
+
+    // Waits for the worker threads to finish and stops them
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Result solve(Path file, MSTWorkspace workspace) {
+        long start = System.nanoTime();
+        try {
+            PrimitiveEdgeList edges = workspace.edges();
+            int numVertices = EdgeFileLoader.loadInto(file, edges);
+            long loaded = System.nanoTime();
+
+            List<Edge> mst;
+            switch (algorithm) {
+                case KRUSKAL:
+                    mst = KruskalMST.findMinimumSpanningTreeEdges(numVertices, edges, workspace);
+                    break;
+                case PRIM:
+                    mst = PrimMST.findMinimumSpanningTreeEdges(numVertices, edges, workspace);
+                    break;
+                default:
+                    mst = MinimumSpanningTree.findMinimumSpanningTreeEdges(numVertices, edges, algorithm);
+                    break;
+            }
+            long solved = System.nanoTime();
+
+            long totalWeight = 0;
+            for (Edge edge : mst) {
+                totalWeight += edge.getWeight();
+            }
+            if (edgesDirectory != null) {
+                writeEdges(edgesDirectory.resolve(file.getFileName() + ".mst"), mst);
+            }
+            return new Result(file, numVertices, edges.size(), mst.size(), numVertices - mst.size(), totalWeight,
+                    loaded - start, solved - loaded, null);
+        } catch (Throwable e) {
+            // Errors too, such as running out of memory on one large graph,
+            // so that every file still gets its line
+            return new Result(file, 0, 0, 0, 0, 0, System.nanoTime() - start, 0, e.toString());
+        }
+    }
+
+    private static void writeEdges(Path path, List<Edge> mst) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.US_ASCII)) {
+            for (Edge edge : mst) {
+                writer.write(edge.getSrc() + " " + edge.getDest() + " " + edge.getWeight());
+                writer.newLine();
+            }
+        }
+    }
+
+    public static class Result {
+        static final String HEADER = "file\tvertices\tedges\tmst_edges\tcomponents\ttotal_weight\tload_ms\tmst_ms\terror";
+
+        private final Path file;
+        private final int numVertices;
+        private final int numEdges;
+        private final int numTreeEdges;
+        private final int numComponents;
+        private final long totalWeight;
+        private final long loadNanos;
+        private final long mstNanos;
+        private final String error;
+
+        private Result(Path file, int numVertices, int numEdges, int numTreeEdges, int numComponents,
+                       long totalWeight, long loadNanos, long mstNanos, String error) {
+            this.file = file;
+            this.numVertices = numVertices;
+            this.numEdges = numEdges;
+            this.numTreeEdges = numTreeEdges;
+            this.numComponents = numComponents;
+            this.totalWeight = totalWeight;
+            this.loadNanos = loadNanos;
+            this.mstNanos = mstNanos;
+            this.error = error;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public int getNumVertices() {
+            return numVertices;
+        }
+
+        public int getNumEdges() {
+            return numEdges;
+        }
+
+        public int getNumTreeEdges() {
+            return numTreeEdges;
+        }
+
+        // Trees in the spanning forest, 1 for a connected graph
+        public int getNumComponents() {
+            return numComponents;
+        }
+
+        public long getTotalWeight() {
+            return totalWeight;
+        }
+
+        public long getLoadNanos() {
+            return loadNanos;
+        }
+
+        public long getMstNanos() {
+            return mstNanos;
+        }
+
+        // null if the graph was solved
+        public String getError() {
+            return error;
+        }
+
+        public String toString() {
+            return file + "\t" + numVertices + "\t" + numEdges + "\t" + numTreeEdges + "\t" + numComponents + "\t"
+                    + totalWeight + "\t" + String.format("%.3f", loadNanos / 1e6) + "\t"
+                    + String.format("%.3f", mstNanos / 1e6) + "\t" + (error == null ? "" : error);
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        MinimumSpanningTree.Algorithm algorithm = MinimumSpanningTree.Algorithm.KRUSKAL;
+        Path output = null;
+        Path edgesDirectory = null;
+        List<String> inputs = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--threads":
+                        numThreads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--algorithm":
+                        algorithm = MinimumSpanningTree.Algorithm.valueOf(args[++i].toUpperCase());
+                        break;
+                    case "--output":
+                        output = Paths.get(args[++i]);
+                        break;
+                    case "--edges":
+                        edgesDirectory = Paths.get(args[++i]);
+                        break;
+                    default:
+                        inputs.add(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            inputs.clear();
+        }
+        if (inputs.isEmpty()) {
+            System.err.println("Usage: BatchMSTRunner [--threads N] [--algorithm KRUSKAL|PRIM|BORUVKA|FILTER_KRUSKAL]"
+                    + " [--output results.tsv] [--edges dir] <directory | file | ->...");
+            System.exit(2);
+        }
+        if (edgesDirectory != null) {
+            Files.createDirectories(edgesDirectory);
+        }
+
+        try (BatchMSTRunner runner = new BatchMSTRunner(numThreads, algorithm, edgesDirectory);
+             PrintWriter out = output == null
+                ? new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))
+                : new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            out.println(Result.HEADER);
+            int[] failures = new int[1];
+            for (String input : inputs) {
+                runner.run(paths(input), result -> {
+                    out.println(result);
+                    if (result.getError() != null) {
+                        failures[0]++;
+                    }
+                });
+            }
+            out.flush();
+            if (failures[0] > 0) {
+                System.err.println(failures[0] + " graph(s) failed");
+            }
+        }
+    }
+
+    // Paths named by one command line argument, read lazily for stdin
+    private static Iterator<Path> paths(String input) throws IOException {
+        if (input.equals("-")) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            return reader.lines().filter(line -> !line.trim().isEmpty()).map(line -> Paths.get(line.trim())).iterator();
+        }
+        Path path = Paths.get(input);
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> listing = Files.list(path)) {
+                return listing.filter(Files::isRegularFile).sorted().collect(Collectors.toList()).iterator();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return Collections.singletonList(path).iterator();
+    }
+}
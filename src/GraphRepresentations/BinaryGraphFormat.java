@@ -0,0 +1,138 @@
+package GraphRepresentations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Compact binary graph file, everything little-endian:
+//
+//   int   magic "MSTG"
+//   int   format version
+//   int   number of vertices
+//   int   reserved, 0
+//   long  number of arcs (each undirected edge is stored as two arcs)
+//   long  offsets[numVertices + 1]
+//   int   targets[numArcs]
+//   int   weights[numArcs]
+//
+// The magic is the constant whose little-endian bytes spell "MSTG", so the
+// file starts with those four characters. This is the CSR layout of
+// GraphUsingCSR. Offsets are longs so that files with more than 2^31 arcs can
+// be described. map() wraps the sections of the file as memory-mapped
+// buffers, so nothing is parsed or copied when loading.
+public class BinaryGraphFormat {
+    static final int MAGIC = 0x4754534D;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private BinaryGraphFormat() {
+    }
+
+    public static void write(GraphInterface graph, Path path) throws IOException {
+        if (graph instanceof OffHeapGraphUsingCSR) {
+            write((OffHeapGraphUsingCSR) graph, path);
+            return;
+        }
+        GraphUsingCSR csr = graph instanceof GraphUsingCSR
+                ? (GraphUsingCSR) graph
+                : new GraphUsingCSR.Builder(graph.getNumVertices()).addEdges(graph.getEdgeList()).build();
+        int numVertices = csr.getNumVertices();
+        int[] offsets = csr.offsets();
+        int[] targets = csr.targets();
+        int[] weights = csr.weights();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            putHeader(buffer, numVertices, targets.length);
+            for (int offset : offsets) {
+                if (buffer.remaining() < Long.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putLong(offset);
+            }
+            for (int target : targets) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(target);
+            }
+            for (int weight : weights) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(weight);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    // The sections are copied from the off-heap buffers, never through the heap
+    private static void write(OffHeapGraphUsingCSR graph, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(channel, graph.getNumVertices(), graph.targets().length());
+            graph.offsets().writeTo(channel);
+            graph.targets().writeTo(channel);
+            graph.weights().writeTo(channel);
+        }
+    }
+
+    static void writeHeader(FileChannel channel, int numVertices, long numArcs) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        putHeader(header, numVertices, numArcs);
+        flush(channel, header);
+    }
+
+    // The only place the header layout is written, buffer must be little-endian
+    private static void putHeader(ByteBuffer buffer, int numVertices, long numArcs) {
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(numVertices).putInt(0).putLong(numArcs);
+    }
+
+    public static OffHeapGraphUsingCSR map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    break;
+                }
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary graph file: " + path);
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported binary graph version " + header.getInt(4) + ": " + path);
+            }
+            int numVertices = header.getInt(8);
+            long numArcs = header.getLong(16);
+
+            long offsetsPosition = HEADER_SIZE;
+            long targetsPosition = offsetsPosition + (numVertices + 1L) * Long.BYTES;
+            long weightsPosition = targetsPosition + numArcs * Integer.BYTES;
+            long expectedSize = weightsPosition + numArcs * Integer.BYTES;
+            if (numVertices < 0 || numArcs < 0 || channel.size() != expectedSize) {
+                throw new IOException("Corrupt binary graph file, expected " + expectedSize
+                        + " bytes but found " + channel.size() + ": " + path);
+            }
+
+            // Mappings stay valid after the channel is closed
+            FileChannel.MapMode mode = FileChannel.MapMode.READ_ONLY;
+            return new OffHeapGraphUsingCSR(numVertices,
+                    OffHeapLongArray.map(channel, mode, offsetsPosition, numVertices + 1L),
+                    OffHeapIntArray.map(channel, mode, targetsPosition, numArcs),
+                    OffHeapIntArray.map(channel, mode, weightsPosition, numArcs));
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
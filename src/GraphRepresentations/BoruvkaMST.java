@@ -0,0 +1,169 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Parallel Boruvka's algorithm. Every round finds the cheapest edge leaving
+// each component in parallel, merges the components along those edges and
+// drops the edges that became internal, so at most log V rounds are needed.
+//
+// Edges are compared by the same packed (weight, edge index) key as
+// KruskalMST, which makes every weight distinct and the result identical to
+// Kruskal's, in the same order, no matter how threads interleave.
+public class BoruvkaMST {
+    private static final int MIN_GRAIN = 4096;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private BoruvkaMST() {
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges) {
+        return findMinimumSpanningTreeEdges(numVertices, edges, ForkJoinPool.commonPool());
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges, ForkJoinPool pool) {
+        int[] sources = edges.sources();
+        int[] destinations = edges.destinations();
+        int[] weights = edges.weights();
+        int vertexGrain = ParallelRange.grainFor(pool, numVertices, MIN_GRAIN);
+
+        int[] component = new int[numVertices];
+        ParallelRange.forEach(pool, 0, numVertices, vertexGrain, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                component[v] = v;
+            }
+        });
+        ConcurrentDisjointSet components = new ConcurrentDisjointSet(numVertices);
+        AtomicLongArray cheapest = new AtomicLongArray(numVertices);
+        boolean[] accepted = new boolean[edges.size()];
+
+        int[] active = new int[edges.size()];
+        for (int e = 0; e < active.length; e++) {
+            active[e] = e;
+        }
+        int[] spare = new int[edges.size()];
+        int numActive = filterActive(pool, active, active.length, spare, sources, destinations, component);
+        int[] swap = active;
+        active = spare;
+        spare = swap;
+
+        while (numActive > 0) {
+            int[] roundEdges = active;
+            int edgeGrain = ParallelRange.grainFor(pool, numActive, MIN_GRAIN);
+
+            ParallelRange.forEach(pool, 0, numVertices, vertexGrain, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    cheapest.set(v, NONE);
+                }
+            });
+
+            // Cheapest edge leaving each component
+            ParallelRange.forEach(pool, 0, numActive, edgeGrain, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int e = roundEdges[i];
+                    long key = KruskalMST.packKey(weights[e], e);
+                    lowerTo(cheapest, component[sources[e]], key);
+                    lowerTo(cheapest, component[destinations[e]], key);
+                }
+            });
+
+            // Merge along the chosen edges. Both sides may pick the same edge,
+            // union succeeds only once so it is accepted once.
+            ParallelRange.forEach(pool, 0, numVertices, vertexGrain, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    if (component[v] != v) {
+                        continue;
+                    }
+                    long key = cheapest.get(v);
+                    if (key != NONE) {
+                        int e = KruskalMST.edgeIndex(key);
+                        if (components.union(sources[e], destinations[e])) {
+                            accepted[e] = true;
+                        }
+                    }
+                }
+            });
+
+            ParallelRange.forEach(pool, 0, numVertices, vertexGrain, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    component[v] = components.find(v);
+                }
+            });
+
+            // Contract: keep only edges that still join two components
+            numActive = filterActive(pool, active, numActive, spare, sources, destinations, component);
+            swap = active;
+            active = spare;
+            spare = swap;
+        }
+
+        int numAccepted = 0;
+        for (boolean isAccepted : accepted) {
+            if (isAccepted) {
+                numAccepted++;
+            }
+        }
+        long[] keys = new long[numAccepted];
+        int next = 0;
+        for (int e = 0; e < accepted.length; e++) {
+            if (accepted[e]) {
+                keys[next++] = KruskalMST.packKey(weights[e], e);
+            }
+        }
+        Arrays.sort(keys);
+
+        List<Edge> results = new ArrayList<>(numAccepted);
+        for (long key : keys) {
+            results.add(edges.toEdge(KruskalMST.edgeIndex(key)));
+        }
+        return results;
+    }
+
+    private static void lowerTo(AtomicLongArray array, int index, long value) {
+        long current = array.get(index);
+        while (value < current && !array.compareAndSet(index, current, value)) {
+            current = array.get(index);
+        }
+    }
+
+    // Stable parallel filter of in[0..size) into out, keeping edges whose
+    // endpoints are in different components. Returns the number kept.
+    private static int filterActive(ForkJoinPool pool, int[] in, int size, int[] out,
+                                    int[] sources, int[] destinations, int[] component) {
+        int grain = ParallelRange.grainFor(pool, size, MIN_GRAIN);
+        int numChunks = (size + grain - 1) / grain;
+        int[] chunkStart = new int[numChunks + 1];
+
+        ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+            for (int c = fromChunk; c < toChunk; c++) {
+                int kept = 0;
+                for (int i = c * grain, end = Math.min(size, i + grain); i < end; i++) {
+                    int e = in[i];
+                    if (component[sources[e]] != component[destinations[e]]) {
+                        kept++;
+                    }
+                }
+                chunkStart[c + 1] = kept;
+            }
+        });
+        for (int c = 0; c < numChunks; c++) {
+            chunkStart[c + 1] += chunkStart[c];
+        }
+
+        ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+            for (int c = fromChunk; c < toChunk; c++) {
+                int next = chunkStart[c];
+                for (int i = c * grain, end = Math.min(size, i + grain); i < end; i++) {
+                    int e = in[i];
+                    if (component[sources[e]] != component[destinations[e]]) {
+                        out[next++] = e;
+                    }
+                }
+            }
+        });
+        return chunkStart[numChunks];
+    }
+}
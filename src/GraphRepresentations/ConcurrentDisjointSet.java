@@ -0,0 +1,97 @@
+package GraphRepresentations;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Lock-free disjoint set union that many threads can share. Parents live in an
+// AtomicIntegerArray; roots are linked with a single compareAndSet and find
+// does path halving with CAS, so no thread ever blocks another.
+//
+// Instead of ranks (which would need a second atomic update) roots are linked
+// by a fixed pseudo-random priority per element, which keeps trees shallow in
+// expectation and makes the link direction independent of thread timing.
+public class ConcurrentDisjointSet {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentDisjointSet(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    // Must not run concurrently with other operations
+    public void reset() {
+        for (int i = 0; i < parent.length(); i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int find(int i) {
+        while (true) {
+            int p = parent.get(i);
+            if (p == i) {
+                return i;
+            }
+            int grandParent = parent.get(p);
+            if (p != grandParent) {
+                // Losing this race is harmless, another thread shortened the path already
+                parent.compareAndSet(i, p, grandParent);
+            }
+            i = grandParent;
+        }
+    }
+
+    public boolean connected(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) {
+                return true;
+            }
+            // x was still a root after y was found, so the answer was true at that instant
+            if (parent.get(x) == x) {
+                return false;
+            }
+        }
+    }
+
+    // Returns true for exactly one of several threads racing to join the same two sets
+    public boolean union(int x, int y) {
+        while (true) {
+            x = find(x);
+            y = find(y);
+            if (x == y) {
+                return false;
+            }
+            if (outranks(y, x)) {
+                int t = x;
+                x = y;
+                y = t;
+            }
+            // Hang y below x; fails if y stopped being a root in the meantime
+            if (parent.compareAndSet(y, y, x)) {
+                return true;
+            }
+        }
+    }
+
+    private static boolean outranks(int a, int b) {
+        int priorityA = mix(a);
+        int priorityB = mix(b);
+        return priorityA > priorityB || (priorityA == priorityB && a > b);
+    }
+
+    // Murmur3 finalizer, spreads consecutive ids into unrelated priorities
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
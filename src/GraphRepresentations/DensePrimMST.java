@@ -0,0 +1,124 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+// O(V^2) Prim's algorithm for dense graphs, working on one matrix row at a
+// time. Every step is a single pass over int arrays that relaxes the keys of
+// the vertices against the row of the vertex just added and, in the same
+// pass, finds the vertex with the smallest key for the next step. Vertices in
+// the tree have the key IN_TREE, which no weight is smaller than, so there is
+// no separate visited array and the pass can run without branches.
+//
+// The pass is done by a Kernel. When the class is built with the vector
+// profile and the JVM runs with --add-modules jdk.incubator.vector,
+// VectorDensePrimKernel does it with SIMD instructions; otherwise the scalar
+// kernel below is used. Both give the same result as the heap-based PrimMST
+// on the same matrix up to ties, which are broken towards the lower vertex id.
+//
+// Weights must be greater than Integer.MIN_VALUE, and 0 means no edge.
+public class DensePrimMST {
+    static final int IN_TREE = Integer.MIN_VALUE;
+
+    // One step over the first n entries of the arrays
+    interface Kernel {
+        // Sets key[v] = row[v] and parent[v] = u wherever row[v] != 0 and
+        // row[v] < key[v], then returns the lowest index v with the smallest
+        // key[v] that is not IN_TREE, or -1 if every such key is Integer.MAX_VALUE
+        int relaxAndArgMin(int[] row, int[] key, int[] parent, int u, int n);
+    }
+
+    private static final Kernel KERNEL = loadKernel();
+
+    private DensePrimMST() {
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(WeightMatrix graph) {
+        List<Edge> results = new ArrayList<>(Math.max(graph.size() - 1, 0));
+        run(graph, null, results);
+        return results;
+    }
+
+    // Whether the Vector API kernel is in use
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarKernel);
+    }
+
+    // Returns parent[v] for every vertex, -1 for the root of each tree. Edges
+    // are added to results, if not null, in the order Prim's algorithm finds
+    // them. listener works as in MinimumSpanningTree.primMST.
+    static int[] run(WeightMatrix graph, MSTProgressListener listener, List<Edge> results) {
+        return run(graph, listener, results, KERNEL);
+    }
+
+    static int[] run(WeightMatrix graph, MSTProgressListener listener, List<Edge> results, Kernel kernel) {
+        int numVertices = graph.size();
+        int[] key = new int[numVertices];
+        int[] parent = new int[numVertices];
+        int[] row = new int[numVertices];
+        Arrays.fill(key, Integer.MAX_VALUE);
+        int trees = 0;
+        int nextRoot = 0;
+        int u = -1;
+
+        for (int count = 0; count < numVertices; count++) {
+            if (u == -1) {
+                // Nothing left is reachable, start the next tree at the first vertex not in one
+                while (key[nextRoot] == IN_TREE) {
+                    nextRoot++;
+                }
+                u = nextRoot;
+                parent[u] = -1;
+                trees++;
+            } else if (results != null) {
+                results.add(new Edge(parent[u], u, key[u]));
+            }
+            key[u] = IN_TREE;
+
+            graph.copyRow(u, row);
+            u = kernel.relaxAndArgMin(row, key, parent, u, numVertices);
+
+            if (listener != null) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Prim's algorithm was cancelled");
+                }
+                listener.onProgress(count + 1, numVertices, numVertices - count - 1 + trees);
+            }
+        }
+        return parent;
+    }
+
+    private static Kernel loadKernel() {
+        try {
+            return (Kernel) Class.forName("GraphRepresentations.VectorDensePrimKernel")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Not built with the vector profile, older JVM, or the incubator module is not added
+            return new ScalarKernel();
+        }
+    }
+
+    // Selects with conditional moves instead of branches, so the pass does not
+    // depend on branch prediction over random weights
+    static class ScalarKernel implements Kernel {
+        public int relaxAndArgMin(int[] row, int[] key, int[] parent, int u, int n) {
+            int min = Integer.MAX_VALUE;
+            int index = -1;
+            for (int v = 0; v < n; v++) {
+                int w = row[v];
+                int k = key[v];
+                boolean closer = w != 0 & w < k;
+                k = closer ? w : k;
+                key[v] = k;
+                parent[v] = closer ? u : parent[v];
+
+                boolean better = k < min & k != IN_TREE;
+                min = better ? k : min;
+                index = better ? v : index;
+            }
+            return index;
+        }
+    }
+}
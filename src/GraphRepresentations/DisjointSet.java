@@ -0,0 +1,108 @@
+package GraphRepresentations;
+
+// Disjoint set union over the elements 0..size-1, stored in a flat int[] parent
+// and byte[] rank. find is iterative with path halving, so long chains cannot
+// overflow the stack and each path is walked only once.
+//
+// reset(size) reuses the arrays for a smaller set of elements, so one instance
+// can serve many graphs of different sizes without reallocating.
+public class DisjointSet {
+    private final int[] parent;
+    private final byte[] rank;
+    private int size;
+    private int numSets;
+
+    public DisjointSet(int size) {
+        parent = new int[size];
+        rank = new byte[size];
+        reset();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return parent.length;
+    }
+
+    // Number of disjoint sets left
+    public int count() {
+        return numSets;
+    }
+
+    public void reset() {
+        reset(parent.length);
+    }
+
+    // Starts over with the elements 0..size-1, size must not exceed capacity()
+    public void reset(int size) {
+        if (size > parent.length) {
+            throw new IllegalArgumentException("Size " + size + " exceeds capacity " + parent.length);
+        }
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+            rank[i] = 0;
+        }
+        this.size = size;
+        numSets = size;
+    }
+
+    public int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // find without path halving: it only reads, so several threads can call it
+    // at once as long as no thread changes the sets meanwhile
+    int findRoot(int i) {
+        while (parent[i] != i) {
+            i = parent[i];
+        }
+        return i;
+    }
+
+    // find that also counts the call and the parent links it follows into metrics
+    int find(int i, MSTMetrics metrics) {
+        metrics.finds++;
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+            metrics.findHops++;
+        }
+        return i;
+    }
+
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    // Returns false if x and y were already in the same set
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+        if (rootX == rootY) {
+            return false;
+        }
+        link(rootX, rootY);
+        return true;
+    }
+
+    // Joins two distinct roots the caller has already found, without
+    // searching for them again. Returns the root of the merged set.
+    public int link(int rootX, int rootY) {
+        numSets--;
+        if (rank[rootX] < rank[rootY]) {
+            parent[rootX] = rootY;
+            return rootY;
+        }
+        if (rank[rootX] == rank[rootY]) {
+            rank[rootX]++;
+        }
+        parent[rootY] = rootX;
+        return rootX;
+    }
+}
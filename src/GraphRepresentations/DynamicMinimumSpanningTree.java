@@ -0,0 +1,371 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Keeps a minimum spanning forest up to date while edges are inserted,
+// removed or re-weighted, instead of recomputing it from scratch.
+//
+// The forest lives in a LinkCutTree where every tree edge is its own node
+// between its two endpoints, valued by its (weight, id) key, so the heaviest
+// edge on any tree path is found in O(log V).
+// - Insertion: if the endpoints are already connected, the new edge replaces
+//   the heaviest edge on the cycle it closes when it is lighter.
+// - Deletion of a tree edge, or a tree edge getting heavier: the two halves
+//   of its tree are searched breadth-first in turns from the two endpoints,
+//   so the search stops once the smaller half is exhausted. Only the
+//   non-tree edges incident to that half are candidates for the replacement.
+//   This costs O(size and degree of the smaller half) per update instead of
+//   a scan of every non-tree edge, though it is still not polylog when both
+//   halves are large.
+public class DynamicMinimumSpanningTree {
+    private final int numVertices;
+    private final LinkCutTree forest;
+    private final Map<Long, Integer> edgeIds = new HashMap<>();
+
+    // Ids of the edges at each vertex, tree and non-tree, in incident[v][0 .. degree[v] - 1].
+    // The slot of edge id in its source's and destination's list is sourceSlot[id] and destinationSlot[id].
+    private final int[][] incident;
+    private final int[] degree;
+    private int[] sourceSlot = new int[16];
+    private int[] destinationSlot = new int[16];
+
+    // Scratch of the cut search: side[v] is sideStamp for vertices reached
+    // from one endpoint and sideStamp + 1 from the other
+    private final int[] side;
+    private final int[][] queues;
+    private int sideStamp;
+
+    private int[] sources = new int[16];
+    private int[] destinations = new int[16];
+    private int[] weights = new int[16];
+    private boolean[] inTree = new boolean[16];
+    private int[] freeIds = new int[16];
+    private int numFreeIds;
+    private int nextId;
+
+    private int numTreeEdges;
+    private long totalWeight;
+
+    public DynamicMinimumSpanningTree(int numVertices) {
+        this.numVertices = numVertices;
+        this.forest = new LinkCutTree(numVertices + sources.length);
+        incident = new int[numVertices][];
+        degree = new int[numVertices];
+        side = new int[numVertices];
+        queues = new int[][]{new int[numVertices], new int[numVertices]};
+    }
+
+    // Starts with the given edges, for example a graph's getEdgeList(). The
+    // forest is picked by one Kruskal pass instead of inserting the edges one
+    // at a time; a vertex pair given more than once keeps its last weight.
+    public DynamicMinimumSpanningTree(int numVertices, PrimitiveEdgeList edges) {
+        this(numVertices);
+        for (int e = 0; e < edges.size(); e++) {
+            int source = edges.getSrc(e);
+            int destination = edges.getDest(e);
+            if (!isValidVertex(source) || !isValidVertex(destination)) {
+                System.out.println("Invalid vertex index");
+                continue;
+            }
+            if (source == destination) {
+                continue;
+            }
+            Integer existing = edgeIds.get(pairKey(source, destination));
+            if (existing != null) {
+                weights[existing] = edges.getWeight(e);
+                continue;
+            }
+            int id = allocateId();
+            sources[id] = source;
+            destinations[id] = destination;
+            weights[id] = edges.getWeight(e);
+            edgeIds.put(pairKey(source, destination), id);
+            attach(id);
+        }
+
+        long[] keys = new long[nextId];
+        for (int id = 0; id < nextId; id++) {
+            forest.reset(node(id), key(id));
+            keys[id] = key(id);
+        }
+        Arrays.sort(keys);
+        DisjointSet components = new DisjointSet(numVertices);
+        for (long key : keys) {
+            int id = KruskalMST.edgeIndex(key);
+            if (components.union(sources[id], destinations[id])) {
+                linkTreeEdge(id);
+            }
+        }
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public int getNumTreeEdges() {
+        return numTreeEdges;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public boolean containsEdge(int source, int destination) {
+        return edgeIds.containsKey(pairKey(source, destination));
+    }
+
+    public boolean isTreeEdge(int source, int destination) {
+        Integer id = edgeIds.get(pairKey(source, destination));
+        return id != null && inTree[id];
+    }
+
+    public boolean connected(int source, int destination) {
+        return forest.connected(source, destination);
+    }
+
+    public void addEdge(Edge edge) {
+        addEdge(edge.getSrc(), edge.getDest(), edge.getWeight());
+    }
+
+    // Inserts the edge, or changes its weight if it already exists
+    public void addEdge(int source, int destination, int weight) {
+        if (!isValidVertex(source) || !isValidVertex(destination)) {
+            System.out.println("Invalid vertex index");
+            return;
+        }
+        if (source == destination) {
+            return;
+        }
+
+        Integer existing = edgeIds.get(pairKey(source, destination));
+        if (existing != null) {
+            updateWeight(existing, weight);
+            return;
+        }
+
+        int id = allocateId();
+        sources[id] = source;
+        destinations[id] = destination;
+        weights[id] = weight;
+        inTree[id] = false;
+        edgeIds.put(pairKey(source, destination), id);
+        attach(id);
+        forest.reset(node(id), key(id));
+        insert(id);
+    }
+
+    public void removeEdge(int source, int destination) {
+        if (!isValidVertex(source) || !isValidVertex(destination)) {
+            System.out.println("Invalid vertex index");
+            return;
+        }
+        Integer id = edgeIds.remove(pairKey(source, destination));
+        if (id == null) {
+            return;
+        }
+
+        detach(id);
+        if (inTree[id]) {
+            cutTreeEdge(id);
+            reconnect(sources[id], destinations[id], Long.MAX_VALUE);
+        }
+        freeIds[numFreeIds++] = id;
+    }
+
+    public List<Edge> getMinimumSpanningTreeEdges() {
+        List<Edge> results = new ArrayList<>(numTreeEdges);
+        for (int id = 0; id < nextId; id++) {
+            if (inTree[id]) {
+                results.add(new Edge(sources[id], destinations[id], weights[id]));
+            }
+        }
+        return results;
+    }
+
+    private void updateWeight(int id, int weight) {
+        if (weights[id] == weight) {
+            return;
+        }
+        boolean heavier = weight > weights[id];
+        if (inTree[id]) {
+            cutTreeEdge(id);
+            weights[id] = weight;
+            forest.reset(node(id), key(id));
+            // A lighter tree edge stays in the tree, a heavier one may lose to a
+            // non-tree edge across its cut; the edge itself is not lighter than its key
+            if (!heavier || !reconnect(sources[id], destinations[id], key(id))) {
+                linkTreeEdge(id);
+            }
+        } else {
+            weights[id] = weight;
+            forest.reset(node(id), key(id));
+            // A heavier non-tree edge is still heavier than every edge on its cycle
+            if (!heavier) {
+                insert(id);
+            }
+        }
+    }
+
+    private void insert(int id) {
+        int u = sources[id];
+        int v = destinations[id];
+        if (!forest.connected(u, v)) {
+            linkTreeEdge(id);
+            return;
+        }
+
+        int heaviestNode = forest.pathMax(u, v);
+        if (forest.getValue(heaviestNode) > key(id)) {
+            cutTreeEdge(heaviestNode - numVertices);
+            linkTreeEdge(id);
+        }
+    }
+
+    // Links the lightest non-tree edge lighter than limitKey that joins the
+    // trees of a and b, if there is one. Called right after the tree edge
+    // between a and b was cut, so that edge is the correct replacement. Any
+    // non-tree edge leaving one of the two trees goes to the other one, so
+    // only the edges at the smaller tree need to be looked at.
+    private boolean reconnect(int a, int b, long limitKey) {
+        if (sideStamp >= Integer.MAX_VALUE - 2) {
+            Arrays.fill(side, 0);
+            sideStamp = 0;
+        }
+        sideStamp += 2;
+        int[] heads = {0, 0};
+        int[] tails = {1, 1};
+        queues[0][0] = a;
+        queues[1][0] = b;
+        side[a] = sideStamp;
+        side[b] = sideStamp + 1;
+
+        // One vertex from each side in turn until a side has nothing left to visit
+        int smaller = -1;
+        while (smaller < 0) {
+            for (int s = 0; s < 2 && smaller < 0; s++) {
+                if (heads[s] == tails[s]) {
+                    smaller = s;
+                    break;
+                }
+                int v = queues[s][heads[s]++];
+                for (int i = 0; i < degree[v]; i++) {
+                    int id = incident[v][i];
+                    int w = sources[id] == v ? destinations[id] : sources[id];
+                    if (inTree[id] && side[w] != sideStamp + s) {
+                        side[w] = sideStamp + s;
+                        queues[s][tails[s]++] = w;
+                    }
+                }
+            }
+        }
+
+        int best = -1;
+        long bestKey = limitKey;
+        int[] queue = queues[smaller];
+        for (int q = 0; q < tails[smaller]; q++) {
+            int v = queue[q];
+            for (int i = 0; i < degree[v]; i++) {
+                int id = incident[v][i];
+                int w = sources[id] == v ? destinations[id] : sources[id];
+                if (!inTree[id] && side[w] != sideStamp + smaller && key(id) < bestKey) {
+                    best = id;
+                    bestKey = key(id);
+                }
+            }
+        }
+        if (best < 0) {
+            return false;
+        }
+        linkTreeEdge(best);
+        return true;
+    }
+
+    // Adds edge id to the incidence lists of its endpoints
+    private void attach(int id) {
+        sourceSlot[id] = append(sources[id], id);
+        destinationSlot[id] = append(destinations[id], id);
+    }
+
+    private int append(int vertex, int id) {
+        if (incident[vertex] == null) {
+            incident[vertex] = new int[4];
+        } else if (degree[vertex] == incident[vertex].length) {
+            incident[vertex] = Arrays.copyOf(incident[vertex], degree[vertex] * 2);
+        }
+        incident[vertex][degree[vertex]] = id;
+        return degree[vertex]++;
+    }
+
+    private void detach(int id) {
+        remove(sources[id], sourceSlot[id]);
+        remove(destinations[id], destinationSlot[id]);
+    }
+
+    // Moves the last edge of the vertex into the freed slot
+    private void remove(int vertex, int slot) {
+        int last = incident[vertex][--degree[vertex]];
+        incident[vertex][slot] = last;
+        if (sources[last] == vertex) {
+            sourceSlot[last] = slot;
+        } else {
+            destinationSlot[last] = slot;
+        }
+    }
+
+    private void linkTreeEdge(int id) {
+        forest.link(sources[id], node(id));
+        forest.link(node(id), destinations[id]);
+        inTree[id] = true;
+        numTreeEdges++;
+        totalWeight += weights[id];
+    }
+
+    private void cutTreeEdge(int id) {
+        forest.cut(sources[id], node(id));
+        forest.cut(node(id), destinations[id]);
+        inTree[id] = false;
+        numTreeEdges--;
+        totalWeight -= weights[id];
+    }
+
+    private int allocateId() {
+        if (numFreeIds > 0) {
+            return freeIds[--numFreeIds];
+        }
+        if (nextId == sources.length) {
+            int capacity = sources.length * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            inTree = Arrays.copyOf(inTree, capacity);
+            freeIds = Arrays.copyOf(freeIds, capacity);
+            sourceSlot = Arrays.copyOf(sourceSlot, capacity);
+            destinationSlot = Arrays.copyOf(destinationSlot, capacity);
+            forest.ensureCapacity(numVertices + capacity);
+        }
+        return nextId++;
+    }
+
+    // Link-cut tree node that stands for edge id
+    private int node(int id) {
+        return numVertices + id;
+    }
+
+    private long key(int id) {
+        return KruskalMST.packKey(weights[id], id);
+    }
+
+    private static long pairKey(int source, int destination) {
+        int low = Math.min(source, destination);
+        int high = Math.max(source, destination);
+        return ((long) low << 32) | high;
+    }
+
+    private boolean isValidVertex(int vertex) {
+        return vertex >= 0 && vertex < numVertices;
+    }
+}
@@ -0,0 +1,233 @@
+package GraphRepresentations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+// Loads "source destination weight" edge files (the MST Edges format) without
+// creating a String per line. The file is split into line-aligned chunks that
+// are memory-mapped and parsed in parallel straight from the mapped bytes.
+// Lines that are not exactly three integers, such as comments, are skipped.
+// The vertex count is inferred from the largest vertex id in the file.
+public class EdgeFileLoader {
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    // A single mapping cannot be larger than Integer.MAX_VALUE bytes
+    private static final long MAX_CHUNK_SIZE = 1L << 30;
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+
+    private EdgeFileLoader() {
+    }
+
+    public static Result load(Path path) throws IOException {
+        return load(path, ForkJoinPool.commonPool());
+    }
+
+    public static Result load(Path path, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (pool.getParallelism() * 4L) + 1));
+            long[] boundaries = chunkBoundaries(channel, chunkSize);
+            int numChunks = boundaries.length - 1;
+            PrimitiveEdgeList[] chunkEdges = new PrimitiveEdgeList[numChunks];
+            int[] chunkMaxVertex = new int[numChunks];
+            IOException[] failure = new IOException[1];
+
+            ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+                for (int c = fromChunk; c < toChunk; c++) {
+                    long start = boundaries[c];
+                    long length = boundaries[c + 1] - start;
+                    // Rough guess of 12 bytes per line to avoid most regrowth
+                    PrimitiveEdgeList edges = new PrimitiveEdgeList((int) (length / 12) + 1);
+                    try {
+                        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                        chunkMaxVertex[c] = parse(buffer, edges);
+                    } catch (IOException e) {
+                        synchronized (failure) {
+                            failure[0] = e;
+                        }
+                    }
+                    chunkEdges[c] = edges;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+
+            int total = 0;
+            int maxVertex = -1;
+            for (int c = 0; c < numChunks; c++) {
+                total += chunkEdges[c].size();
+                maxVertex = Math.max(maxVertex, chunkMaxVertex[c]);
+            }
+            PrimitiveEdgeList edges = new PrimitiveEdgeList(total);
+            for (PrimitiveEdgeList chunk : chunkEdges) {
+                edges.addAll(chunk);
+            }
+            return new Result(maxVertex + 1, edges);
+        }
+    }
+
+    // Parses the file one MIN_CHUNK_SIZE chunk at a time, in file order and on the calling
+    // thread, and hands each chunk's edges to the consumer. The same list is cleared and
+    // reused for every chunk, so only one chunk's edges are on the heap at a time.
+    static void stream(Path path, Consumer<PrimitiveEdgeList> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel, MIN_CHUNK_SIZE);
+            PrimitiveEdgeList edges = new PrimitiveEdgeList((int) (MIN_CHUNK_SIZE / 12));
+            for (int c = 0; c + 1 < boundaries.length; c++) {
+                long start = boundaries[c];
+                edges.clear();
+                parse(channel.map(FileChannel.MapMode.READ_ONLY, start, boundaries[c + 1] - start), edges);
+                consumer.accept(edges);
+            }
+        }
+    }
+
+    // Parses the whole file on the calling thread into edges, which is not cleared
+    // first, and returns the inferred vertex count. For running many loads in
+    // parallel, one file per thread, with a reused edge list.
+    public static int loadInto(Path path, PrimitiveEdgeList edges) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel, MAX_CHUNK_SIZE);
+            int maxVertex = -1;
+            for (int c = 0; c + 1 < boundaries.length; c++) {
+                long start = boundaries[c];
+                maxVertex = Math.max(maxVertex,
+                        parse(channel.map(FileChannel.MapMode.READ_ONLY, start, boundaries[c + 1] - start), edges));
+            }
+            return maxVertex + 1;
+        }
+    }
+
+    // Start offsets of the chunks plus the file size; every chunk starts at the beginning of a line
+    private static long[] chunkBoundaries(FileChannel channel, long chunkSize) throws IOException {
+        long size = channel.size();
+        int numChunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+        long[] boundaries = new long[numChunks + 1];
+        int count = 1;
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        for (int c = 1; c < numChunks; c++) {
+            long position = Math.max(c * chunkSize, boundaries[count - 1]);
+            position = nextLineStart(channel, position, scan);
+            if (position > boundaries[count - 1] && position < size) {
+                boundaries[count++] = position;
+            }
+        }
+        boundaries[count++] = size;
+        long[] result = new long[count];
+        System.arraycopy(boundaries, 0, result, 0, count);
+        return result;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer scan) throws IOException {
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    // Parses every valid line in the buffer into edges and returns the largest vertex id seen
+    private static int parse(ByteBuffer buffer, PrimitiveEdgeList edges) {
+        int limit = buffer.limit();
+        int pos = 0;
+        int maxVertex = -1;
+        long[] values = new long[3];
+
+        while (pos < limit) {
+            int count = 0;
+            boolean valid = true;
+
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b == '\n') {
+                    pos++;
+                    break;
+                }
+                if (b == ' ' || b == '\t' || b == '\r') {
+                    pos++;
+                    continue;
+                }
+
+                boolean negative = false;
+                if (b == '-') {
+                    negative = true;
+                    pos++;
+                }
+                long value = 0;
+                int digits = 0;
+                while (pos < limit) {
+                    b = buffer.get(pos);
+                    if (b < '0' || b > '9') {
+                        break;
+                    }
+                    value = value * 10 + (b - '0');
+                    if (value > Integer.MAX_VALUE + 1L) {
+                        valid = false;
+                    }
+                    digits++;
+                    pos++;
+                }
+                boolean endOfToken = pos == limit || b == ' ' || b == '\t' || b == '\r' || b == '\n';
+                if (digits == 0 || !endOfToken || count == 3) {
+                    valid = false;
+                }
+                if (!valid) {
+                    // Skip the rest of the line
+                    while (pos < limit && buffer.get(pos) != '\n') {
+                        pos++;
+                    }
+                    pos++;
+                    break;
+                }
+                values[count++] = negative ? -value : value;
+            }
+
+            if (valid && count == 3 && values[0] >= 0 && values[1] >= 0
+                    && values[0] <= Integer.MAX_VALUE && values[1] <= Integer.MAX_VALUE
+                    && values[2] >= Integer.MIN_VALUE && values[2] <= Integer.MAX_VALUE) {
+                int source = (int) values[0];
+                int destination = (int) values[1];
+                edges.add(source, destination, (int) values[2]);
+                maxVertex = Math.max(maxVertex, Math.max(source, destination));
+            }
+        }
+        return maxVertex;
+    }
+
+    public static class Result {
+        private final int numVertices;
+        private final PrimitiveEdgeList edges;
+
+        private Result(int numVertices, PrimitiveEdgeList edges) {
+            this.numVertices = numVertices;
+            this.edges = edges;
+        }
+
+        public int getNumVertices() {
+            return numVertices;
+        }
+
+        public PrimitiveEdgeList getEdges() {
+            return edges;
+        }
+
+        public GraphUsingCSR toCSR() {
+            return new GraphUsingCSR.Builder(numVertices).addEdges(edges).build();
+        }
+    }
+}
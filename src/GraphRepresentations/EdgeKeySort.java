@@ -0,0 +1,249 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+// Produces Kruskal's packed (weight << 32 | edge index) keys in ascending
+// order, picking the sort from the range of the weights:
+// - COUNTING when the range is at most twice the number of edges: one count
+//   per weight, and the keys are written straight to their final place.
+// - RADIX for other large lists: a stable LSD radix sort on weight - min,
+//   RADIX_BITS bits per pass, skipping passes where every edge has the same
+//   digit.
+// - COMPARISON for small lists: a plain Arrays.sort, they are below
+//   Arrays.parallelSort's own sequential threshold anyway.
+// Every method gives the same order, ties broken by edge index, because the
+// keys are generated in index order and both linear sorts are stable.
+//
+// Lists of PARALLEL_CHUNK edges or more are split into one chunk per worker
+// of the pool. Each chunk counts its own histogram, the histograms are
+// summed into per-chunk offsets, and the chunks then scatter in parallel;
+// chunk c writes each bucket after chunks 0 .. c - 1, so the scatter is as
+// stable as the sequential one. The counting sort needs a histogram of the
+// whole range per chunk, so with several chunks it is only used while those
+// histograms together stay within twice the number of edges; wider ranges
+// go to the radix sort, whose histograms are small.
+//
+// An instance keeps its scratch arrays between sorts, see MSTWorkspace.
+final class EdgeKeySort {
+    enum Method {
+        COMPARISON, COUNTING, RADIX
+    }
+
+    // Below this many edges the linear sorts do not pay for their passes
+    private static final int RADIX_MIN_EDGES = 1 << 12;
+    private static final int RADIX_BITS = 11;
+    // Fewest edges per parallel chunk
+    private static final int PARALLEL_CHUNK = 1 << 16;
+
+    private interface ChunkBody {
+        void run(int chunk, int from, int to);
+    }
+
+    // null to always sort on the calling thread
+    private final ForkJoinPool pool;
+    private long[] scratch = new long[0];
+    private int[] counts = new int[0];
+
+    EdgeKeySort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    EdgeKeySort(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    static long[] sortedKeys(PrimitiveEdgeList edges) {
+        long[] keys = new long[edges.size()];
+        new EdgeKeySort().sort(edges, keys);
+        return keys;
+    }
+
+    static Method method(int numEdges, long range, int numChunks) {
+        if (range * numChunks <= 2L * numEdges) {
+            return Method.COUNTING;
+        }
+        return numEdges >= RADIX_MIN_EDGES ? Method.RADIX : Method.COMPARISON;
+    }
+
+    // Fills keys[0 .. edges.size() - 1]
+    void sort(PrimitiveEdgeList edges, long[] keys) {
+        int numEdges = edges.size();
+        int[] weights = edges.weights();
+        int numChunks = pool == null ? 1 : Math.max(1, Math.min(pool.getParallelism(), numEdges / PARALLEL_CHUNK));
+
+        int[] chunkMin = new int[numChunks];
+        int[] chunkMax = new int[numChunks];
+        forEachChunk(numEdges, numChunks, (c, from, to) -> {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, weights[i]);
+                max = Math.max(max, weights[i]);
+            }
+            chunkMin[c] = min;
+            chunkMax[c] = max;
+        });
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int c = 0; c < numChunks; c++) {
+            min = Math.min(min, chunkMin[c]);
+            max = Math.max(max, chunkMax[c]);
+        }
+        long range = numEdges == 0 ? 0 : (long) max - min + 1;
+
+        switch (method(numEdges, range, numChunks)) {
+            case COUNTING:
+                countingSort(weights, numEdges, min, (int) range, numChunks, keys);
+                break;
+            case RADIX:
+                radixSort(weights, numEdges, min, range, numChunks, keys);
+                break;
+            default:
+                for (int i = 0; i < numEdges; i++) {
+                    keys[i] = KruskalMST.packKey(weights[i], i);
+                }
+                Arrays.sort(keys, 0, numEdges);
+                break;
+        }
+    }
+
+    private void countingSort(int[] weights, int numEdges, int min, int range, int numChunks, long[] keys) {
+        // Chunk c counts into start[c * range .. (c + 1) * range - 1]
+        int[] start = counts(numChunks * range);
+        forEachChunk(numEdges, numChunks, (c, from, to) -> {
+            int base = c * range;
+            for (int i = from; i < to; i++) {
+                start[base + weights[i] - min]++;
+            }
+        });
+        toOffsets(start, 0, range, numChunks, range);
+        forEachChunk(numEdges, numChunks, (c, from, to) -> {
+            int base = c * range;
+            for (int i = from; i < to; i++) {
+                keys[start[base + weights[i] - min]++] = KruskalMST.packKey(weights[i], i);
+            }
+        });
+    }
+
+    private void radixSort(int[] weights, int numEdges, int min, long range, int numChunks, long[] keys) {
+        int bits = 64 - Long.numberOfLeadingZeros(range - 1);
+        int passes = (bits + RADIX_BITS - 1) / RADIX_BITS;
+        int buckets = 1 << RADIX_BITS;
+        int mask = buckets - 1;
+        int chunkStride = passes * buckets;
+
+        // Histograms of every digit in one read of the weights, which are also
+        // packed into keys on the way. The chunks' histograms of a pass only
+        // match its input until the first scatter has moved the keys between
+        // chunks; after that, with several chunks, each pass counts again.
+        int[] histograms = counts(numChunks * chunkStride);
+        forEachChunk(numEdges, numChunks, (c, from, to) -> {
+            int base = c * chunkStride;
+            for (int i = from; i < to; i++) {
+                int value = weights[i] - min;
+                for (int p = 0; p < passes; p++) {
+                    histograms[base + p * buckets + ((value >>> (p * RADIX_BITS)) & mask)]++;
+                }
+                keys[i] = KruskalMST.packKey(weights[i], i);
+            }
+        });
+
+        long[] from = keys;
+        long[] to = scratch(numEdges);
+        boolean scattered = false;
+        for (int p = 0; p < passes; p++) {
+            int passBase = p * buckets;
+            int shift = p * RADIX_BITS;
+            if (isSingleBucket(histograms, passBase, buckets, numChunks, chunkStride, numEdges)) {
+                continue;
+            }
+            long[] source = from;
+            long[] target = to;
+            if (numChunks > 1 && scattered) {
+                forEachChunk(numEdges, numChunks, (c, begin, end) -> {
+                    int base = c * chunkStride + passBase;
+                    Arrays.fill(histograms, base, base + buckets, 0);
+                    for (int i = begin; i < end; i++) {
+                        histograms[base + ((((int) (source[i] >> 32) - min) >>> shift) & mask)]++;
+                    }
+                });
+            }
+            toOffsets(histograms, passBase, buckets, numChunks, chunkStride);
+            forEachChunk(numEdges, numChunks, (c, begin, end) -> {
+                int base = c * chunkStride + passBase;
+                for (int i = begin; i < end; i++) {
+                    long key = source[i];
+                    int digit = (((int) (key >> 32) - min) >>> shift) & mask;
+                    target[histograms[base + digit]++] = key;
+                }
+            });
+            from = target;
+            to = source;
+            scattered = true;
+        }
+        if (from != keys) {
+            System.arraycopy(from, 0, keys, 0, numEdges);
+        }
+    }
+
+    // Turns the per-chunk counts at base + c * stride + b into the index where
+    // chunk c writes its first key of bucket b: buckets in order, and within a
+    // bucket the chunks in order
+    private static void toOffsets(int[] counts, int base, int buckets, int numChunks, int stride) {
+        int sum = 0;
+        for (int b = 0; b < buckets; b++) {
+            for (int c = 0; c < numChunks; c++) {
+                int index = base + c * stride + b;
+                int count = counts[index];
+                counts[index] = sum;
+                sum += count;
+            }
+        }
+    }
+
+    private static boolean isSingleBucket(int[] histograms, int base, int buckets, int numChunks, int stride,
+                                          int numEdges) {
+        for (int b = 0; b < buckets; b++) {
+            int count = 0;
+            for (int c = 0; c < numChunks; c++) {
+                count += histograms[base + c * stride + b];
+            }
+            if (count != 0) {
+                return count == numEdges;
+            }
+        }
+        return true;
+    }
+
+    // Runs body over numChunks equal slices of [0, numEdges), on the pool when there is more than one
+    private void forEachChunk(int numEdges, int numChunks, ChunkBody body) {
+        int grain = (numEdges + numChunks - 1) / numChunks;
+        if (numChunks == 1) {
+            body.run(0, 0, numEdges);
+            return;
+        }
+        ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+            for (int c = fromChunk; c < toChunk; c++) {
+                body.run(c, c * grain, Math.min(numEdges, (c + 1) * grain));
+            }
+        });
+    }
+
+    // Zeroed
+    private int[] counts(int length) {
+        if (counts.length < length) {
+            counts = new int[length];
+        } else {
+            Arrays.fill(counts, 0, length, 0);
+        }
+        return counts;
+    }
+
+    private long[] scratch(int length) {
+        if (scratch.length < length) {
+            scratch = new long[length];
+        }
+        return scratch;
+    }
+}
@@ -0,0 +1,350 @@
+package GraphRepresentations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Out-of-core Kruskal's algorithm for edge sets that do not fit in memory.
+// Edges are read sequentially and buffered until the memory budget is used up,
+// then the buffer is sorted and written to a temporary run file. The runs are
+// k-way merged (in several passes if there are more runs than the budget allows
+// buffers for) and the merged stream goes straight into a DisjointSet, so only
+// the O(V) union-find and the result are kept besides the budget. The budget
+// covers the run buffer, its sort keys and the I/O buffer of the run being
+// written while runs are formed, and the I/O buffers and heap of the merge
+// afterwards; the run buffer is dropped before merging.
+//
+// Every run holds consecutive input edges and is sorted by (weight, input
+// order), and the merge breaks weight ties by run order, so the edges come out
+// in exactly the order KruskalMST sorts them and the result is the same.
+// If all edges fit in a single run nothing is written and KruskalMST is used.
+public class ExternalKruskalMST {
+    private static final int RECORD_BYTES = 3 * Integer.BYTES;
+    // Read buffer per run while merging, and write buffer per run file
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    // Heap bytes per buffered edge: source, destination, weight and its sort key
+    private static final int BYTES_PER_BUFFERED_EDGE = 3 * Integer.BYTES + Long.BYTES;
+    private static final int MIN_RUN_LENGTH = 1024;
+
+    private ExternalKruskalMST() {
+    }
+
+    // Edges of a "source destination weight" text file, parsed like EdgeFileLoader
+    public static List<Edge> findMinimumSpanningTreeEdges(Path edgeFile, long memoryBudget) throws IOException {
+        return findMinimumSpanningTreeEdges(edgeFile, memoryBudget, defaultTempDirectory());
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(Path edgeFile, long memoryBudget, Path tempDirectory)
+            throws IOException {
+        try (Runs runs = new Runs(memoryBudget, tempDirectory)) {
+            try {
+                EdgeFileLoader.stream(edgeFile, edges -> {
+                    try {
+                        for (int e = 0; e < edges.size(); e++) {
+                            runs.add(edges.getSrc(e), edges.getDest(e), edges.getWeight(e));
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return runs.finish(runs.maxVertex + 1);
+        }
+    }
+
+    // Same edges and order as KruskalMST on graph.getEdgeList(), without copying them to the heap
+    public static List<Edge> findMinimumSpanningTreeEdges(OffHeapGraphUsingCSR graph, long memoryBudget)
+            throws IOException {
+        return findMinimumSpanningTreeEdges(graph, memoryBudget, defaultTempDirectory());
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(OffHeapGraphUsingCSR graph, long memoryBudget,
+                                                          Path tempDirectory) throws IOException {
+        try (Runs runs = new Runs(memoryBudget, tempDirectory)) {
+            for (int u = 0; u < graph.getNumVertices(); u++) {
+                for (long i = graph.offset(u), end = graph.offset(u + 1); i < end; i++) {
+                    int v = graph.target(i);
+                    if (u < v) {
+                        runs.add(u, v, graph.weight(i));
+                    }
+                }
+            }
+            return runs.finish(graph.getNumVertices());
+        }
+    }
+
+    private static Path defaultTempDirectory() {
+        return Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    // Run formation and merging. Every file it creates is deleted on close.
+    private static class Runs implements AutoCloseable {
+        private final Path directory;
+        private final int runLength;
+        private final int fanIn;
+        // Dropped once the last run is written, so the merge has the budget to itself.
+        // Starts small and doubles up to runLength, so small inputs do not pay
+        // for the whole budget; a doubling holds 1.5 buffers' worth of edges at
+        // most, which the budget's share for the sort keys covers.
+        private PrimitiveEdgeList buffer;
+        private int bufferCapacity;
+        // Sort keys of a run, allocated on the first spill and reused
+        private long[] keys;
+        private final List<Path> files = new ArrayList<>();
+        private int maxVertex = -1;
+
+        Runs(long memoryBudget, Path directory) {
+            this.directory = directory;
+            // A run is written through one IO buffer; a merge reads fanIn runs and writes one
+            long available = Math.max(0, memoryBudget - IO_BUFFER_SIZE);
+            runLength = (int) Math.max(MIN_RUN_LENGTH,
+                    Math.min(Integer.MAX_VALUE - 8, available / BYTES_PER_BUFFERED_EDGE));
+            fanIn = (int) Math.max(2, Math.min(Integer.MAX_VALUE - 8, available / (IO_BUFFER_SIZE + Long.BYTES)));
+            bufferCapacity = MIN_RUN_LENGTH;
+            buffer = new PrimitiveEdgeList(bufferCapacity);
+        }
+
+        void add(int source, int destination, int weight) throws IOException {
+            if (buffer.size() == runLength) {
+                spill();
+            } else if (buffer.size() == bufferCapacity) {
+                // Copied into an exact-size list, PrimitiveEdgeList's own growth could overshoot runLength
+                bufferCapacity = (int) Math.min(runLength, 2L * bufferCapacity);
+                PrimitiveEdgeList grown = new PrimitiveEdgeList(bufferCapacity);
+                grown.addAll(buffer);
+                buffer = grown;
+            }
+            buffer.add(source, destination, weight);
+            maxVertex = Math.max(maxVertex, Math.max(source, destination));
+        }
+
+        List<Edge> finish(int numVertices) throws IOException {
+            if (files.isEmpty()) {
+                return KruskalMST.findMinimumSpanningTreeEdges(numVertices, buffer);
+            }
+            if (!buffer.isEmpty()) {
+                spill();
+            }
+            buffer = null;
+            keys = null;
+
+            // Merge consecutive groups so that run order still matches input order
+            while (files.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < files.size(); from += fanIn) {
+                    List<Path> group = files.subList(from, Math.min(from + fanIn, files.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    Path file = Files.createTempFile(directory, "mst-run", ".bin");
+                    merged.add(file);
+                    try (RunWriter out = new RunWriter(file)) {
+                        merge(group, (u, v, w) -> {
+                            out.write(u, v, w);
+                            return true;
+                        });
+                    }
+                    for (Path input : group) {
+                        Files.delete(input);
+                    }
+                }
+                files.clear();
+                files.addAll(merged);
+            }
+
+            List<Edge> results = new ArrayList<>(Math.max(numVertices - 1, 0));
+            DisjointSet components = new DisjointSet(numVertices);
+            merge(files, (u, v, w) -> {
+                int x = components.find(u);
+                int y = components.find(v);
+                if (x != y) {
+                    results.add(new Edge(u, v, w));
+                    components.link(x, y);
+                }
+                return results.size() < numVertices - 1;
+            });
+            return results;
+        }
+
+        // Sorts the buffered edges like KruskalMST and writes them out as one run
+        private void spill() throws IOException {
+            int size = buffer.size();
+            int[] sources = buffer.sources();
+            int[] destinations = buffer.destinations();
+            int[] weights = buffer.weights();
+            if (keys == null) {
+                keys = new long[runLength];
+            }
+            for (int i = 0; i < size; i++) {
+                keys[i] = KruskalMST.packKey(weights[i], i);
+            }
+            Arrays.sort(keys, 0, size);
+
+            Path file = Files.createTempFile(directory, "mst-run", ".bin");
+            files.add(file);
+            try (RunWriter out = new RunWriter(file)) {
+                for (int i = 0; i < size; i++) {
+                    int e = KruskalMST.edgeIndex(keys[i]);
+                    out.write(sources[e], destinations[e], weights[e]);
+                }
+            }
+            buffer.clear();
+        }
+
+        // K-way merge on a binary heap of packed (weight, run) keys, so equal
+        // weights come out in run order. Stops early when the sink returns false.
+        private static void merge(List<Path> runs, RecordSink sink) throws IOException {
+            RunReader[] readers = new RunReader[runs.size()];
+            long[] heap = new long[runs.size()];
+            int size = 0;
+            try {
+                for (int r = 0; r < readers.length; r++) {
+                    readers[r] = new RunReader(runs.get(r));
+                    if (readers[r].next()) {
+                        heap[size] = KruskalMST.packKey(readers[r].weight, r);
+                        siftUp(heap, size++);
+                    }
+                }
+                while (size > 0) {
+                    RunReader reader = readers[KruskalMST.edgeIndex(heap[0])];
+                    if (!sink.accept(reader.source, reader.destination, reader.weight)) {
+                        return;
+                    }
+                    if (reader.next()) {
+                        heap[0] = KruskalMST.packKey(reader.weight, KruskalMST.edgeIndex(heap[0]));
+                    } else {
+                        heap[0] = heap[--size];
+                    }
+                    siftDown(heap, 0, size);
+                }
+            } finally {
+                for (RunReader reader : readers) {
+                    if (reader != null) {
+                        reader.close();
+                    }
+                }
+            }
+        }
+
+        private static void siftUp(long[] heap, int i) {
+            long key = heap[i];
+            while (i > 0 && heap[(i - 1) >>> 1] > key) {
+                heap[i] = heap[(i - 1) >>> 1];
+                i = (i - 1) >>> 1;
+            }
+            heap[i] = key;
+        }
+
+        private static void siftDown(long[] heap, int i, int size) {
+            if (size == 0) {
+                return;
+            }
+            long key = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= key) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = key;
+        }
+
+        public void close() throws IOException {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+            files.clear();
+        }
+    }
+
+    private interface RecordSink {
+        boolean accept(int source, int destination, int weight) throws IOException;
+    }
+
+    private static class RunWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        RunWriter(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(int source, int destination, int weight) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.putInt(source).putInt(destination).putInt(weight);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static class RunReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        int source;
+        int destination;
+        int weight;
+
+        RunReader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            buffer.limit(0);
+        }
+
+        // Loads the next record into the fields, false at the end of the run
+        boolean next() throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.compact();
+                while (buffer.position() < RECORD_BYTES) {
+                    if (channel.read(buffer) < 0) {
+                        buffer.flip();
+                        return false;
+                    }
+                }
+                buffer.flip();
+            }
+            source = buffer.getInt();
+            destination = buffer.getInt();
+            weight = buffer.getInt();
+            return true;
+        }
+
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongPredicate;
+
+// Filter-Kruskal: instead of sorting every edge up front, partition the edges
+// around a pivot weight, solve the light half first and then throw away the
+// heavy edges whose endpoints the light half already connected. On dense
+// graphs most heavy edges are filtered out before they are ever sorted.
+//
+// Partitioning and filtering run in parallel on a ForkJoinPool. Unions only
+// happen in the sequential base case, so a plain DisjointSet is enough; the
+// parallel filter reads it with findRoot while nothing changes it. Keys are
+// the same packed (weight, edge index) longs as KruskalMST, so the result is
+// the same edge list, in the same order.
+public class FilterKruskalMST {
+    // Below this many edges a range is simply sorted and scanned
+    private static final int BASE_CASE_SIZE = 1 << 13;
+    private static final int MIN_GRAIN = 4096;
+    private static final int PIVOT_SAMPLES = 63;
+
+    private final ForkJoinPool pool;
+    private final PrimitiveEdgeList edges;
+    private final int numVertices;
+    private final DisjointSet components;
+    private final List<Edge> results;
+    private final long[] keys;
+    private final long[] scratch;
+
+    private FilterKruskalMST(int numVertices, PrimitiveEdgeList edges, ForkJoinPool pool) {
+        this.pool = pool;
+        this.edges = edges;
+        this.numVertices = numVertices;
+        this.components = new DisjointSet(numVertices);
+        this.results = new ArrayList<>(Math.max(numVertices - 1, 0));
+        this.keys = new long[edges.size()];
+        this.scratch = new long[edges.size()];
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges) {
+        return findMinimumSpanningTreeEdges(numVertices, edges, ForkJoinPool.commonPool());
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges, ForkJoinPool pool) {
+        FilterKruskalMST run = new FilterKruskalMST(numVertices, edges, pool);
+        int[] weights = edges.weights();
+        long[] keys = run.keys;
+        ParallelRange.forEach(pool, 0, keys.length, ParallelRange.grainFor(pool, keys.length, MIN_GRAIN), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                keys[i] = KruskalMST.packKey(weights[i], i);
+            }
+        });
+        run.filterKruskal(0, keys.length);
+        return run.results;
+    }
+
+    private boolean isDone() {
+        return results.size() >= numVertices - 1;
+    }
+
+    private void filterKruskal(int from, int to) {
+        if (isDone() || from >= to) {
+            return;
+        }
+        if (to - from <= BASE_CASE_SIZE) {
+            kruskal(from, to);
+            return;
+        }
+
+        long pivot = samplePivot(from, to);
+        int split = partition(from, to, key -> key <= pivot);
+        if (split == to) {
+            // Pivot was the maximum of the range, nothing to split off
+            kruskal(from, to);
+            return;
+        }
+
+        filterKruskal(from, split);
+        if (isDone()) {
+            return;
+        }
+        filterKruskal(split, filter(split, to));
+    }
+
+    private void kruskal(int from, int to) {
+        int[] sources = edges.sources();
+        int[] destinations = edges.destinations();
+        Arrays.sort(keys, from, to);
+        for (int i = from; i < to && !isDone(); i++) {
+            int e = KruskalMST.edgeIndex(keys[i]);
+            if (components.union(sources[e], destinations[e])) {
+                results.add(edges.toEdge(e));
+            }
+        }
+    }
+
+    // Median of evenly spaced samples, always an element of the range
+    private long samplePivot(int from, int to) {
+        int numSamples = Math.min(PIVOT_SAMPLES, to - from);
+        long[] samples = new long[numSamples];
+        long step = (long) (to - from) / numSamples;
+        for (int i = 0; i < numSamples; i++) {
+            samples[i] = keys[from + (int) (i * step)];
+        }
+        Arrays.sort(samples);
+        return samples[numSamples / 2];
+    }
+
+    // Stable parallel compaction of keys[from..to) to the edges whose endpoints
+    // are not connected yet, testing each key once: every chunk compacts its
+    // kept keys to its own front, then the chunks are joined up through
+    // scratch. Returns the end of the kept keys.
+    private int filter(int from, int to) {
+        int[] sources = edges.sources();
+        int[] destinations = edges.destinations();
+        int size = to - from;
+        int grain = ParallelRange.grainFor(pool, size, MIN_GRAIN);
+        int numChunks = (size + grain - 1) / grain;
+        int[] keptStart = new int[numChunks + 1];
+
+        ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+            for (int c = fromChunk; c < toChunk; c++) {
+                int begin = from + c * grain;
+                int end = Math.min(to, begin + grain);
+                int kept = begin;
+                for (int i = begin; i < end; i++) {
+                    long key = keys[i];
+                    int e = KruskalMST.edgeIndex(key);
+                    if (components.findRoot(sources[e]) != components.findRoot(destinations[e])) {
+                        keys[kept++] = key;
+                    }
+                }
+                keptStart[c + 1] = kept - begin;
+            }
+        });
+        for (int c = 0; c < numChunks; c++) {
+            keptStart[c + 1] += keptStart[c];
+        }
+
+        ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+            for (int c = fromChunk; c < toChunk; c++) {
+                System.arraycopy(keys, from + c * grain, scratch, from + keptStart[c], keptStart[c + 1] - keptStart[c]);
+            }
+        });
+        int end = from + keptStart[numChunks];
+        ParallelRange.forEach(pool, from, end, grain, (fromIndex, toIndex) ->
+                System.arraycopy(scratch, fromIndex, keys, fromIndex, toIndex - fromIndex));
+        return end;
+    }
+
+    // Stable parallel partition of keys[from..to): keys matching the predicate
+    // move to the front in their original order. Keys that don't match follow
+    // them. Returns the index of the first key that doesn't match.
+    private int partition(int from, int to, LongPredicate goesLeft) {
+        int size = to - from;
+        int grain = ParallelRange.grainFor(pool, size, MIN_GRAIN);
+        int numChunks = (size + grain - 1) / grain;
+        int[] leftStart = new int[numChunks + 1];
+        int[] rightStart = new int[numChunks + 1];
+
+        ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+            for (int c = fromChunk; c < toChunk; c++) {
+                int left = 0;
+                int end = Math.min(to, from + (c + 1) * grain);
+                for (int i = from + c * grain; i < end; i++) {
+                    if (goesLeft.test(keys[i])) {
+                        left++;
+                    }
+                }
+                leftStart[c + 1] = left;
+                rightStart[c + 1] = (end - (from + c * grain)) - left;
+            }
+        });
+        for (int c = 0; c < numChunks; c++) {
+            leftStart[c + 1] += leftStart[c];
+            rightStart[c + 1] += rightStart[c];
+        }
+        int split = from + leftStart[numChunks];
+
+        ParallelRange.forEach(pool, 0, numChunks, 1, (fromChunk, toChunk) -> {
+            for (int c = fromChunk; c < toChunk; c++) {
+                int nextLeft = from + leftStart[c];
+                int nextRight = split + rightStart[c];
+                int end = Math.min(to, from + (c + 1) * grain);
+                for (int i = from + c * grain; i < end; i++) {
+                    long key = keys[i];
+                    if (goesLeft.test(key)) {
+                        scratch[nextLeft++] = key;
+                    } else {
+                        scratch[nextRight++] = key;
+                    }
+                }
+            }
+        });
+        ParallelRange.forEach(pool, from, to, grain, (fromIndex, toIndex) ->
+                System.arraycopy(scratch, fromIndex, keys, fromIndex, toIndex - fromIndex));
+        return split;
+    }
+}
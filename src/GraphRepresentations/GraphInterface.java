@@ -1,13 +1,19 @@
 package GraphRepresentations;
 
+import java.util.function.IntConsumer;
+
 public interface GraphInterface {
     public int getNumVertices();
+    // Changes on every modification of the graph, so results computed from it can be cached
+    public long getVersion();
     public void addEdge(Edge edge);
     public void removeEdge(int source, int destination);
-    public void addVertex();
+    public int addVertex();
     public void removeVertex(int vertex);
     public boolean containsVertex(int vertex);
     public boolean containsEdge(int source, int destination);
+    public PrimitiveEdgeList getEdgeList();
+    public void forEachNeighbor(int vertex, IntConsumer action);
     public void traverseGraph(int startVertex);
     public String toString();
 }
@@ -0,0 +1,135 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Breadth- and depth-first traversal without recursion or printing. Vertices
+// are handed to an IntConsumer, or collected into an int[] order. The visited
+// bitset and the int[] stack/queue belong to the traversal object, so running
+// many traversals on one graph allocates nothing after the first one.
+//
+// The depth-first order is the same as recursive DFS visiting neighbours in
+// the order forEachNeighbor reports them.
+public class GraphTraversal {
+    private final GraphInterface graph;
+    private long[] visited = new long[0];
+    private int[] work = new int[16];
+    private int size;
+    // Neighbour callbacks, created once so traversals do not allocate lambdas
+    private final IntConsumer pushUnvisited = this::pushUnvisited;
+    private final IntConsumer enqueueUnvisited = this::enqueueUnvisited;
+
+    public GraphTraversal(GraphInterface graph) {
+        this.graph = graph;
+    }
+
+    // Returns the number of vertices reached from start, start included
+    public int depthFirst(int start, IntConsumer visitor) {
+        checkStart(start);
+        resetVisited();
+        int count = 0;
+        size = 0;
+        push(start);
+        while (size > 0) {
+            int vertex = work[--size];
+            if (isVisited(vertex)) {
+                continue;
+            }
+            markVisited(vertex);
+            visitor.accept(vertex);
+            count++;
+
+            // Neighbours are pushed in reverse so the first one is popped first
+            int from = size;
+            graph.forEachNeighbor(vertex, pushUnvisited);
+            for (int i = from, j = size - 1; i < j; i++, j--) {
+                int swap = work[i];
+                work[i] = work[j];
+                work[j] = swap;
+            }
+        }
+        return count;
+    }
+
+    public int breadthFirst(int start, IntConsumer visitor) {
+        checkStart(start);
+        resetVisited();
+        // work[] is the queue; vertices are marked when enqueued, so each is queued once
+        size = 0;
+        markVisited(start);
+        push(start);
+        for (int head = 0; head < size; head++) {
+            int vertex = work[head];
+            visitor.accept(vertex);
+            graph.forEachNeighbor(vertex, enqueueUnvisited);
+        }
+        return size;
+    }
+
+    public int[] depthFirstOrder(int start) {
+        int[] order = new int[graph.getNumVertices()];
+        int[] count = new int[1];
+        depthFirst(start, vertex -> order[count[0]++] = vertex);
+        return Arrays.copyOf(order, count[0]);
+    }
+
+    public int[] breadthFirstOrder(int start) {
+        int count = breadthFirst(start, vertex -> { });
+        // The queue still holds every reached vertex in BFS order
+        return Arrays.copyOf(work, count);
+    }
+
+    // Prints the depth-first order on one line, for the graphs' traverseGraph
+    static void print(GraphInterface graph, int startVertex) {
+        if (graph.containsVertex(startVertex)) {
+            StringBuilder sb = new StringBuilder();
+            new GraphTraversal(graph).depthFirst(startVertex, vertex -> sb.append(vertex).append(' '));
+            System.out.println(sb);
+        } else {
+            System.out.println("Invalid start vertex index");
+        }
+    }
+
+    private void checkStart(int start) {
+        if (!graph.containsVertex(start)) {
+            throw new IllegalArgumentException("Invalid start vertex index: " + start);
+        }
+    }
+
+    private void resetVisited() {
+        int words = (graph.getNumVertices() + 63) >>> 6;
+        if (visited.length < words) {
+            visited = new long[words];
+        } else {
+            Arrays.fill(visited, 0, words, 0L);
+        }
+    }
+
+    private boolean isVisited(int vertex) {
+        return (visited[vertex >>> 6] & (1L << vertex)) != 0;
+    }
+
+    private void markVisited(int vertex) {
+        visited[vertex >>> 6] |= 1L << vertex;
+    }
+
+    private void push(int vertex) {
+        if (size == work.length) {
+            work = Arrays.copyOf(work, work.length * 2);
+        }
+        work[size++] = vertex;
+    }
+
+    private void pushUnvisited(int vertex) {
+        if (!isVisited(vertex)) {
+            push(vertex);
+        }
+    }
+
+    private void enqueueUnvisited(int vertex) {
+        if (!isVisited(vertex)) {
+            markVisited(vertex);
+            push(vertex);
+        }
+    }
+}
@@ -2,15 +2,42 @@ package GraphRepresentations;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
 import java.io.*;
-import java.util.Comparator;
+import java.nio.file.Paths;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GraphUI extends JFrame {
+    private static final long serialVersionUID = 1L;
+    // Larger adjacency matrices are not dumped to the output area
+    private static final int MAX_PRINTED_MATRIX_SIZE = 100;
+    private static final int OUTPUT_FLUSH_INTERVAL_MS = 100;
+
     private static MinimumSpanningTree graph;
+    private static DynamicMinimumSpanningTree dynamicMST;
     private final JTextArea outputArea;
     private final GraphPanel graphPanel;
     private List<Edge> mstEdges;
+    // MST runs and imports go to this thread so the event dispatch thread never waits for them
+    private final ExecutorService mstExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mst-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // The MST run or import in flight, if any
+    private SwingWorker<?, ?> job;
+    private JButton[] graphButtons;
+    private JButton cancelButton;
+    private JProgressBar progressBar;
 
     public GraphUI() {
         // Set up the JFrame
@@ -32,13 +59,17 @@ public class GraphUI extends JFrame {
         add(controlPanel, BorderLayout.NORTH);
         add(splitPane, BorderLayout.CENTER);
 
-        // Redirect System.out to JTextArea
-        PrintStream printStream = new PrintStream(new CustomOutputStream(outputArea));
+        // Redirect System.out to JTextArea; text printed off the event dispatch
+        // thread is collected and appended by the timer in chunks
+        CustomOutputStream outputStream = new CustomOutputStream(outputArea);
+        PrintStream printStream = new PrintStream(outputStream);
         System.setOut(printStream);
         System.setErr(printStream);
+        new Timer(OUTPUT_FLUSH_INTERVAL_MS, e -> outputStream.flush()).start();
 
         // Initialize the graph
         graph = new MinimumSpanningTree(0);
+        dynamicMST = new DynamicMinimumSpanningTree(0);
     }
 
     private JPanel createOutputPanel() {
@@ -60,7 +91,9 @@ public class GraphUI extends JFrame {
         addVertexButton.addActionListener(e -> {
             int result = Integer.parseInt(JOptionPane.showInputDialog("Enter the number of vertices:"));
             graph = new MinimumSpanningTree(result);
-            graphPanel.repaint();  // Repaint the graph panel
+            dynamicMST = new DynamicMinimumSpanningTree(result);
+            mstEdges = null;
+            graphPanel.graphChanged();
             outputArea.setText("Graph created with " + result + " vertices.\n");
         });
 
@@ -69,7 +102,9 @@ public class GraphUI extends JFrame {
             int destination = Integer.parseInt(JOptionPane.showInputDialog("Enter destination vertex:"));
             int weight = Integer.parseInt(JOptionPane.showInputDialog("Enter weight:"));
             graph.addEdge(new Edge(source, destination, weight));
-            graphPanel.repaint();  // Repaint the graph panel
+            updateDynamicMST(source, destination, weight);
+            mstEdges = dynamicMST.getMinimumSpanningTreeEdges();
+            graphPanel.graphChanged();
             outputArea.append("Edge added: " + source + " -- " + destination + " == " + weight + "\n");
         });
 
@@ -77,7 +112,9 @@ public class GraphUI extends JFrame {
             int source = Integer.parseInt(JOptionPane.showInputDialog("Enter source vertex: "));
             int destination = Integer.parseInt(JOptionPane.showInputDialog("Enter destination vertex:"));
             graph.removeEdge(source, destination);
-            graphPanel.repaint();
+            dynamicMST.removeEdge(source, destination);
+            mstEdges = dynamicMST.getMinimumSpanningTreeEdges();
+            graphPanel.graphChanged();
             outputArea.append("Edge deleted: " + source + " -- " + destination + "\n");
         });
 
@@ -85,159 +122,503 @@ public class GraphUI extends JFrame {
             JFileChooser fileChooser = new JFileChooser();
             int result = fileChooser.showOpenDialog(this);
             if (result == JFileChooser.APPROVE_OPTION) {
-                String filePath = fileChooser.getSelectedFile().getAbsolutePath();
-                importFromTxt(filePath);
-                graphPanel.repaint();
-                outputArea.append("Graph imported from TXT file: " + filePath + "\n");
+                importFromTxt(fileChooser.getSelectedFile().getAbsolutePath());
             }
         });
 
-        runAlgorithmsButton.addActionListener(e -> {
-            int[][] adjacencyMatrix = graph.toAdjacencyMatrix();
+        runAlgorithmsButton.addActionListener(e -> runAlgorithms());
 
-            // Print the adjacency matrix to outputArea
-            outputArea.append("Adjacency Matrix:\n");
-            for (int[] matrix : adjacencyMatrix) {
-                for (int i : matrix) {
-                    outputArea.append(i + "\t");
-                }
-                outputArea.append("\n");
-            }
-
-            // Run Prim's MST
-            outputArea.append("\nPrim's Algorithm\n");
-            long primStartTime = System.currentTimeMillis();
-            graph.primMST(adjacencyMatrix);
-            long primEndTime = System.currentTimeMillis();
-            mstEdges = graph.getPrimMSTEdges();
-            outputArea.append("\nTime taken by Prim's MST: " + (primEndTime - primStartTime) + " milliseconds\n");
-
-            graphPanel.repaint();
-
-            // Run Kruskal's MST
-            outputArea.append("\nKruskal's Algorithm\n");
-            long kruskalStartTime = System.currentTimeMillis();
-            List<Edge> edges = graph.getAllEdges();
-            edges.sort(Comparator.comparingInt(Edge::getWeight));
-            graph.kruskal(graph.getNumVertices());
-            long kruskalEndTime = System.currentTimeMillis();
-            outputArea.append("Time taken by Kruskal's MST: " + (kruskalEndTime - kruskalStartTime) + " milliseconds\n");
+        cancelButton = new JButton("Cancel");
+        cancelButton.setEnabled(false);
+        cancelButton.addActionListener(e -> {
+            if (job != null) {
+                job.cancel(true);
+            }
         });
 
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setString("Idle");
+
+        graphButtons = new JButton[]{addVertexButton, addEdgeButton, deleteEdgeButton, importFromTxtButton,
+                runAlgorithmsButton};
+
         panel.add(addVertexButton);
         panel.add(addEdgeButton);
         panel.add(deleteEdgeButton);
         panel.add(importFromTxtButton);
         panel.add(runAlgorithmsButton);
+        panel.add(cancelButton);
+        panel.add(progressBar);
 
         return panel;
     }
 
+    // Runs Prim's and Kruskal's algorithms on the MST executor, showing their
+    // progress in the progress bar. The graph buttons stay disabled until the
+    // job has stopped, so the graph cannot be edited while it is being read.
+    private void runAlgorithms() {
+        MinimumSpanningTree current = graph;
+        setRunning(true);
+
+        SwingWorker<List<Edge>, String> mstJob = new SwingWorker<List<Edge>, String>() {
+            @Override
+            protected List<Edge> doInBackground() {
+                try {
+                    int numVertices = current.getNumVertices();
+                    WeightMatrix adjacencyMatrix = current.asWeightMatrix();
+
+                    // Print the adjacency matrix to outputArea
+                    if (numVertices <= MAX_PRINTED_MATRIX_SIZE) {
+                        StringBuilder sb = new StringBuilder("Adjacency Matrix:\n");
+                        int[] row = new int[numVertices];
+                        for (int u = 0; u < numVertices; u++) {
+                            adjacencyMatrix.copyRow(u, row);
+                            for (int i : row) {
+                                sb.append(i).append('\t');
+                            }
+                            sb.append('\n');
+                        }
+                        System.out.print(sb);
+                    } else {
+                        System.out.println("Adjacency Matrix: not printed for " + numVertices + " vertices");
+                    }
+
+                    // Run Prim's MST
+                    System.out.println("\nPrim's Algorithm");
+                    long primStartTime = System.nanoTime();
+                    // Served from the graph's cache, like Kruskal's below, when it has not changed since the last run
+                    current.primMST(progressListener("Prim's algorithm", "vertices"));
+                    long primEndTime = System.nanoTime();
+                    List<Edge> primEdges = current.getPrimMSTEdges();
+                    System.out.println("\nTime taken by Prim's MST: " + (primEndTime - primStartTime) / 1000000
+                            + " milliseconds");
+
+                    // Run Kruskal's MST
+                    System.out.println("\nKruskal's Algorithm");
+                    long kruskalStartTime = System.nanoTime();
+                    current.kruskal(current.getNumVertices(), progressListener("Kruskal's algorithm", "edges"));
+                    long kruskalEndTime = System.nanoTime();
+                    System.out.println("Time taken by Kruskal's MST: " + (kruskalEndTime - kruskalStartTime) / 1000000
+                            + " milliseconds");
+                    return primEdges;
+                } finally {
+                    // Only now has the job really stopped, done() runs as soon as it is cancelled
+                    SwingUtilities.invokeLater(() -> setRunning(false));
+                }
+            }
+
+            private MSTProgressListener progressListener(String name, String unit) {
+                return (processed, total, componentsRemaining) -> {
+                    setProgress(total == 0 ? 100 : (int) Math.min(100, processed * 100 / total));
+                    publish(name + ": " + processed + "/" + total + " " + unit + ", "
+                            + componentsRemaining + " components");
+                };
+            }
+
+            @Override
+            protected void process(List<String> updates) {
+                progressBar.setValue(getProgress());
+                progressBar.setString(updates.get(updates.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    mstEdges = get();
+                    graphPanel.graphChanged();
+                    progressBar.setString("Done");
+                } catch (CancellationException e) {
+                    System.out.println("\nMST run cancelled");
+                    progressBar.setString("Cancelled");
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                    progressBar.setString("Failed");
+                }
+            }
+        };
+        job = mstJob;
+        mstExecutor.execute(mstJob);
+    }
+
+    private void setRunning(boolean running) {
+        for (JButton button : graphButtons) {
+            button.setEnabled(!running);
+        }
+        cancelButton.setEnabled(running);
+        if (running) {
+            progressBar.setValue(0);
+            progressBar.setString("Starting");
+        }
+    }
+
+    // Draws the graph with vertices on a circle. The vertex layout, the edge list
+    // and which edges are in the MST are cached until graphChanged() is called,
+    // and the visible edges are rendered into a BufferedImage that covers the
+    // viewport plus a margin. Panning inside the margin only redraws that image;
+    // it is rebuilt when the graph changes, the zoom changes or the view leaves
+    // the margin. Edges outside the image are culled, and labels and vertex
+    // outlines are left out when they would be too small or too many to read.
     private class GraphPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        private static final int VERTEX_SIZE = 30;
+        private static final double MIN_RADIUS = 150;
+        private static final int MAX_LABELED_EDGES = 2000;
+        private static final double MIN_ZOOM = 1e-3;
+        private static final double MAX_ZOOM = 50;
+
+        // Cached scene, in world coordinates centred on the circle
+        private boolean sceneValid;
+        private int numVertices;
+        private double[] vertexX = new double[0];
+        private double[] vertexY = new double[0];
+        private PrimitiveEdgeList edges = new PrimitiveEdgeList();
+        private long[] mstBits = new long[0];
+        private MSTResult mstResult;
+
+        // View: screen = world * zoom + pan, where pan is relative to the panel centre
+        private double zoom = 1;
+        private double panX;
+        private double panY;
+
+        // Rendered edges and vertices and the view they were rendered for
+        private BufferedImage image;
+        private double imageZoom;
+        private double imagePanX;
+        private double imagePanY;
+        private int margin;
+
+        GraphPanel() {
+            MouseAdapter mouse = new MouseAdapter() {
+                private Point last;
+
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    last = e.getPoint();
+                }
+
+                @Override
+                public void mouseDragged(MouseEvent e) {
+                    panX += e.getX() - last.x;
+                    panY += e.getY() - last.y;
+                    last = e.getPoint();
+                    repaint();
+                }
+
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    if (e.getClickCount() == 2) {
+                        zoom = 1;
+                        panX = 0;
+                        panY = 0;
+                        repaint();
+                    }
+                }
+
+                @Override
+                public void mouseWheelMoved(MouseWheelEvent e) {
+                    double factor = Math.pow(1.1, -e.getPreciseWheelRotation());
+                    double newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+                    // Keep the world point under the cursor in place
+                    double cursorX = e.getX() - getWidth() / 2.0;
+                    double cursorY = e.getY() - getHeight() / 2.0;
+                    panX = cursorX - (cursorX - panX) * newZoom / zoom;
+                    panY = cursorY - (cursorY - panY) * newZoom / zoom;
+                    zoom = newZoom;
+                    repaint();
+                }
+            };
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+            addMouseWheelListener(mouse);
+        }
+
+        // Call after the graph or the MST edges change
+        void graphChanged() {
+            sceneValid = false;
+            image = null;
+            repaint();
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
-            drawGraph(g);
+            if (getWidth() <= 0 || getHeight() <= 0) {
+                return;
+            }
+            if (!sceneValid) {
+                buildScene();
+            }
+            int x = (int) Math.round(panX - imagePanX);
+            int y = (int) Math.round(panY - imagePanY);
+            if (image == null || zoom != imageZoom || Math.abs(x) > margin || Math.abs(y) > margin
+                    || image.getWidth() != getWidth() + 2 * margin || image.getHeight() != getHeight() + 2 * margin) {
+                renderImage();
+                x = 0;
+                y = 0;
+            }
+            g.drawImage(image, x - margin, y - margin, null);
         }
 
-        private void drawGraph(Graphics g) {
-            int[][] adjacencyMatrix = graph.toAdjacencyMatrix();
-            int numVertices = graph.getNumVertices();
+        private void buildScene() {
+            numVertices = graph.getNumVertices();
+            edges = graph.getEdgeList();
 
-            int centerX = getWidth() / 2;
-            int centerY = getHeight() / 2;
-            int radius = 150;
-
-            // Draw vertices with different colors
+            // Vertices about VERTEX_SIZE apart, but never on a smaller circle than before
+            double radius = Math.max(MIN_RADIUS, numVertices * (VERTEX_SIZE + 6) / (2 * Math.PI));
+            vertexX = new double[numVertices];
+            vertexY = new double[numVertices];
             for (int i = 0; i < numVertices; i++) {
                 double angle = 2 * Math.PI * i / numVertices;
-                int x = (int) (centerX + radius * Math.cos(angle));
-                int y = (int) (centerY + radius * Math.sin(angle));
+                vertexX[i] = radius * Math.cos(angle);
+                vertexY[i] = radius * Math.sin(angle);
+            }
 
-                // Set different colors for vertices
-                g.setColor(Color.BLACK); // Change the color as needed
-                g.fillOval(x - 15, y - 15, 30, 30);
-                g.setColor(Color.WHITE);
-                g.drawString(Integer.toString(i), x, y);
+            // The cached result already knows which edges of the edge list are in
+            // the MST while it is for the same, unchanged graph; otherwise bit e
+            // of mstBits is set if edge e is
+            mstResult = graph.getCachedMinimumSpanningTree(MinimumSpanningTree.Algorithm.PRIM);
+            if (mstResult != null && mstResult.getEdges() != mstEdges) {
+                mstResult = null;
             }
+            mstBits = new long[mstResult != null ? 0 : (edges.size() + 63) >>> 6];
+            if (mstResult == null && mstEdges != null && !mstEdges.isEmpty()) {
+                Set<Long> mst = new HashSet<>(mstEdges.size() * 2);
+                for (Edge edge : mstEdges) {
+                    mst.add(edgeKey(edge.getSrc(), edge.getDest()));
+                }
+                for (int e = 0; e < edges.size(); e++) {
+                    if (mst.contains(edgeKey(edges.getSrc(e), edges.getDest(e)))) {
+                        mstBits[e >>> 6] |= 1L << e;
+                    }
+                }
+            }
+            sceneValid = true;
+        }
 
-            // Draw edges with different colors
+        private void renderImage() {
+            margin = Math.max(getWidth(), getHeight()) / 2;
+            int width = getWidth() + 2 * margin;
+            int height = getHeight() + 2 * margin;
+            if (image == null || image.getWidth() != width || image.getHeight() != height) {
+                image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            }
+            imageZoom = zoom;
+            imagePanX = panX;
+            imagePanY = panY;
+
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, width, height);
+            g.setComposite(AlphaComposite.SrcOver);
+
+            // World to image coordinates
+            double originX = width / 2.0 + panX;
+            double originY = height / 2.0 + panY;
+
+            // Vertices first, then edges on top of them, like the original drawing
+            int vertexSize = (int) Math.round(VERTEX_SIZE * zoom);
+            boolean drawVertexLabels = vertexSize >= 12;
+            int half = Math.max(vertexSize, 2) / 2;
             for (int i = 0; i < numVertices; i++) {
-                for (int j = i + 1; j < numVertices; j++) {
-                    if (adjacencyMatrix[i][j] != 0) {
-                        double angle1 = 2 * Math.PI * i / numVertices;
-                        double angle2 = 2 * Math.PI * j / numVertices;
-                        int x1 = (int) (centerX + radius * Math.cos(angle1));
-                        int y1 = (int) (centerY + radius * Math.sin(angle1));
-                        int x2 = (int) (centerX + radius * Math.cos(angle2));
-                        int y2 = (int) (centerY + radius * Math.sin(angle2));
-
-                        // Set different colors for edges
-                        if (isEdgeInMST(i, j)) {
-                            // If the edge is in the MST, draw it in red
-                            g.setColor(Color.RED);
-                        } else {
-                            // Otherwise, draw it in black
-                            g.setColor(Color.BLACK);
-                        }
-                        g.drawLine(x1, y1, x2, y2);
-                        g.drawString(Integer.toString(adjacencyMatrix[i][j]), (x1 + x2) / 2, (y1 + y2) / 2);
+                int x = (int) (originX + vertexX[i] * zoom);
+                int y = (int) (originY + vertexY[i] * zoom);
+                if (x + half < 0 || y + half < 0 || x - half > width || y - half > height) {
+                    continue;
+                }
+                g.setColor(Color.BLACK);
+                if (vertexSize >= 4) {
+                    g.fillOval(x - half, y - half, vertexSize, vertexSize);
+                } else {
+                    g.fillRect(x - 1, y - 1, 2, 2);
+                }
+                if (drawVertexLabels) {
+                    g.setColor(Color.WHITE);
+                    g.drawString(Integer.toString(i), x, y);
+                }
+            }
+
+            // Non-MST edges in black, then MST edges in red so they stay visible
+            int visibleEdges = countVisibleEdges(originX, originY, width, height);
+            boolean drawEdgeLabels = visibleEdges <= MAX_LABELED_EDGES;
+            for (int pass = 0; pass < 2; pass++) {
+                boolean mstPass = pass == 1;
+                g.setColor(mstPass ? Color.RED : Color.BLACK);
+                for (int e = 0; e < edges.size(); e++) {
+                    if (isInMST(e) != mstPass) {
+                        continue;
+                    }
+                    int u = edges.getSrc(e);
+                    int v = edges.getDest(e);
+                    double x1 = originX + vertexX[u] * zoom;
+                    double y1 = originY + vertexY[u] * zoom;
+                    double x2 = originX + vertexX[v] * zoom;
+                    double y2 = originY + vertexY[v] * zoom;
+                    if (!intersectsImage(x1, y1, x2, y2, width, height)) {
+                        continue;
                     }
+                    g.drawLine((int) x1, (int) y1, (int) x2, (int) y2);
+                    // Only label edges long enough on screen to fit their weight
+                    if (drawEdgeLabels && Math.abs(x2 - x1) + Math.abs(y2 - y1) >= 40) {
+                        g.drawString(Integer.toString(edges.getWeight(e)), (int) (x1 + x2) / 2, (int) (y1 + y2) / 2);
+                    }
+                }
+            }
+            g.dispose();
+        }
+
+        private int countVisibleEdges(double originX, double originY, int width, int height) {
+            int count = 0;
+            for (int e = 0; e < edges.size() && count <= MAX_LABELED_EDGES; e++) {
+                int u = edges.getSrc(e);
+                int v = edges.getDest(e);
+                if (intersectsImage(originX + vertexX[u] * zoom, originY + vertexY[u] * zoom,
+                        originX + vertexX[v] * zoom, originY + vertexY[v] * zoom, width, height)) {
+                    count++;
                 }
             }
+            return count;
+        }
+
+        // Bounding box test, cheap and only lets through a few edges that miss the image
+        private boolean intersectsImage(double x1, double y1, double x2, double y2, int width, int height) {
+            return Math.max(x1, x2) >= 0 && Math.min(x1, x2) <= width
+                    && Math.max(y1, y2) >= 0 && Math.min(y1, y2) <= height;
+        }
+
+        // The cached result's bits when it matches the scene, else mstBits
+        private boolean isInMST(int e) {
+            return mstResult != null ? mstResult.isInMST(e) : (mstBits[e >>> 6] & (1L << e)) != 0;
+        }
+
+        private long edgeKey(int u, int v) {
+            return ((long) Math.min(u, v) << 32) | Math.max(u, v);
         }
     }
 
+    // Loads the file on the MST executor with the graph buttons disabled, like
+    // runAlgorithms. The edges are added in one pass to a copy of the graph,
+    // grown if the file uses more vertices, and the dynamic MST is rebuilt from
+    // it there too; the UI only switches to the new graph once all of that has
+    // worked, so a failed or cancelled import leaves the old one in place.
     private void importFromTxt(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(" ");
-                if (parts.length == 3) {
-                    int source = Integer.parseInt(parts[0]);
-                    int destination = Integer.parseInt(parts[1]);
-                    int weight = Integer.parseInt(parts[2]);
-                    graph.addEdge(new Edge(source, destination, weight));
+        MinimumSpanningTree current = graph;
+        setRunning(true);
+        progressBar.setString("Importing " + filePath);
+
+        SwingWorker<MinimumSpanningTree, Void> importJob = new SwingWorker<MinimumSpanningTree, Void>() {
+            private DynamicMinimumSpanningTree importedMST;
+
+            @Override
+            protected MinimumSpanningTree doInBackground() throws IOException {
+                try {
+                    EdgeFileLoader.Result loaded = EdgeFileLoader.load(Paths.get(filePath));
+                    MinimumSpanningTree target = new MinimumSpanningTree(
+                            Math.max(current.getNumVertices(), loaded.getNumVertices()));
+                    target.addEdges(current.getEdgeList());
+                    // A zero weight clears the cell, like an edit, so the matrix decides what the dynamic MST starts from
+                    target.addEdges(loaded.getEdges());
+                    importedMST = new DynamicMinimumSpanningTree(target.getNumVertices(), target.getEdgeList());
+                    return target;
+                } finally {
+                    SwingUtilities.invokeLater(() -> setRunning(false));
                 }
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+
+            @Override
+            protected void done() {
+                try {
+                    MinimumSpanningTree target = get();
+                    if (target.getNumVertices() > current.getNumVertices()) {
+                        outputArea.append("Graph resized to " + target.getNumVertices() + " vertices.\n");
+                    }
+                    graph = target;
+                    dynamicMST = importedMST;
+                    mstEdges = dynamicMST.getMinimumSpanningTreeEdges();
+                    graphPanel.graphChanged();
+                    outputArea.append("Graph imported from TXT file: " + filePath + "\n");
+                    progressBar.setString("Done");
+                } catch (CancellationException e) {
+                    progressBar.setString("Cancelled");
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(GraphUI.this, "Could not import " + filePath + ":\n"
+                            + cause.getMessage(), "Import failed", JOptionPane.ERROR_MESSAGE);
+                    progressBar.setString("Failed");
+                }
+            }
+        };
+        job = importJob;
+        mstExecutor.execute(importJob);
     }
 
+    // Keeps the highlighted MST current after every edit without a full rerun.
+    // A zero weight clears the matrix cell, so it counts as a removal.
+    private void updateDynamicMST(int source, int destination, int weight) {
+        if (weight == 0) {
+            dynamicMST.removeEdge(source, destination);
+        } else {
+            dynamicMST.addEdge(source, destination, weight);
+        }
+    }
 
     public static void main(String[] args) {
+        // MST metrics stay off until enabled through the MSTMetrics bean in a JMX console
+        MSTMetricsCollector.register();
         SwingUtilities.invokeLater(() -> {
             GraphUI graphUI = new GraphUI();
             graphUI.setVisible(true);
         });
     }
 
+    // Appends printed text to the text area a chunk at a time instead of one
+    // append and caret move per byte. Text printed on the event dispatch thread
+    // is appended right away; text from other threads is collected and appended
+    // on the next flush, which the GraphUI timer calls periodically.
     private static class CustomOutputStream extends OutputStream {
+        private static final int MAX_PENDING_BYTES = 1 << 16;
+
         private final JTextArea textArea;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
 
         public CustomOutputStream(JTextArea textArea) {
             this.textArea = textArea;
         }
 
         @Override
-        public void write(int b) {
-            textArea.append(String.valueOf((char) b));
-            textArea.setCaretPosition(textArea.getDocument().getLength());
+        public synchronized void write(int b) {
+            pending.write(b);
+            flushIfNeeded();
         }
-    }
 
-    private boolean isEdgeInMST(int source, int destination) {
-        if (mstEdges == null) {
-            return false;
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            pending.write(b, off, len);
+            flushIfNeeded();
+        }
+
+        @Override
+        public synchronized void flush() {
+            if (pending.size() == 0) {
+                return;
+            }
+            String text = pending.toString();
+            pending.reset();
+            Runnable append = () -> {
+                textArea.append(text);
+                textArea.setCaretPosition(textArea.getDocument().getLength());
+            };
+            if (SwingUtilities.isEventDispatchThread()) {
+                append.run();
+            } else {
+                SwingUtilities.invokeLater(append);
+            }
         }
 
-        for (Edge edge : mstEdges) {
-            if ((edge.getSrc() == source && edge.getDest() == destination) ||
-                    (edge.getSrc() == destination && edge.getDest() == source)) {
-                return true;
+        private void flushIfNeeded() {
+            if (SwingUtilities.isEventDispatchThread() || pending.size() >= MAX_PENDING_BYTES) {
+                flush();
             }
         }
-        return false;
     }
 }
@@ -1,29 +1,84 @@
 package GraphRepresentations;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
 
+// Weighted adjacency list kept in growable primitive arrays: the neighbours of
+// vertex v are neighbors[v][0 .. degree[v] - 1] with matching weights[v][].
+// Edges are removed by moving the last neighbour into the freed slot.
+//
+// Once a vertex has HASH_INDEX_THRESHOLD neighbours it also gets an
+// open-addressing hash index from neighbour to slot, which makes
+// containsEdge/removeEdge O(1) on high-degree vertices. Low-degree vertices
+// are scanned, which is faster than hashing for a handful of entries.
+//
+// Removed vertices keep their id until compact(), like in the adjacency matrix.
 public class GraphUsingAdjacencyList implements GraphInterface {
-    private final List<List<Integer>> adjacencyList;
-    private int numVertices;
+    private static final int INITIAL_DEGREE_CAPACITY = 4;
+    private static final int HASH_INDEX_THRESHOLD = 16;
+    private static final int EMPTY = 0;
 
+    private final boolean hashIndexEnabled;
+    private int[][] neighbors;
+    private int[][] weights;
+    private int[] degree;
+    // Slot + 1 of each indexed neighbour, 0 marks an empty bucket; null until the vertex needs one
+    private int[][] hashIndex;
+    private final VertexSlots slots;
+    // Volatile, results cached on other threads compare against it
+    private volatile long version;
+
+    // Vertex ids are 0 .. getNumVertices() - 1, removed ids included
     public int getNumVertices() {
-        return numVertices;
+        return slots.bound();
+    }
+
+    public int getNumActiveVertices() {
+        return slots.numLive();
+    }
+
+    // Bumped by every addEdge, removeEdge, addVertex, removeVertex and compact that changes the graph
+    public long getVersion() {
+        return version;
     }
 
     public GraphUsingAdjacencyList(int numVertices) {
-        this.numVertices = numVertices;
-        adjacencyList = new ArrayList<>(numVertices);
-        for (int i = 0; i < numVertices; i++) {
-            adjacencyList.add(new LinkedList<>());
+        this(numVertices, true);
+    }
+
+    public GraphUsingAdjacencyList(int numVertices, boolean hashIndexEnabled) {
+        this.hashIndexEnabled = hashIndexEnabled;
+        slots = new VertexSlots(numVertices);
+        int capacity = Math.max(numVertices, 1);
+        neighbors = new int[capacity][];
+        weights = new int[capacity][];
+        degree = new int[capacity];
+        hashIndex = new int[capacity][];
+        for (int i = 0; i < getNumVertices(); i++) {
+            neighbors[i] = new int[INITIAL_DEGREE_CAPACITY];
+            weights[i] = new int[INITIAL_DEGREE_CAPACITY];
         }
     }
 
     public void addEdge(Edge edge) {
-        if (isValidVertex(edge.getSrc()) && isValidVertex(edge.getDest())) {
-            adjacencyList.get(edge.getSrc()).add(edge.getDest());
-            adjacencyList.get(edge.getDest()).add(edge.getSrc());
+        int source = edge.getSrc();
+        int destination = edge.getDest();
+        if (isValidVertex(source) && isValidVertex(destination)) {
+            int slot = slotOf(source, destination);
+            if (slot >= 0) {
+                // Same edge again, only the weight changes
+                weights[source][slot] = edge.getWeight();
+                version++;
+                if (source != destination) {
+                    weights[destination][slotOf(destination, source)] = edge.getWeight();
+                }
+                return;
+            }
+            version++;
+            append(source, destination, edge.getWeight());
+            if (source != destination) {
+                append(destination, source, edge.getWeight());
+            }
         } else {
             System.out.println("Invalid vertex index");
         }
@@ -31,80 +86,274 @@ public class GraphUsingAdjacencyList implements GraphInterface {
 
     public void removeEdge(int source, int destination) {
         if (isValidVertex(source) && isValidVertex(destination)) {
-            adjacencyList.get(source).remove(Integer.valueOf(destination));
-            adjacencyList.get(destination).remove(Integer.valueOf(source));
+            int slot = slotOf(source, destination);
+            if (slot >= 0) {
+                version++;
+                removeSlot(source, slot);
+                if (source != destination) {
+                    removeSlot(destination, slotOf(destination, source));
+                }
+            }
         } else {
             System.out.println("Invalid vertex index");
         }
     }
 
-    public void addVertex() {
-        numVertices++;
-        adjacencyList.add(new LinkedList<>());
+    // Amortized O(1), returns the id of the new vertex
+    public int addVertex() {
+        int vertex = slots.allocate();
+        version++;
+        if (vertex == degree.length) {
+            int capacity = degree.length * 2;
+            neighbors = Arrays.copyOf(neighbors, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            degree = Arrays.copyOf(degree, capacity);
+            hashIndex = Arrays.copyOf(hashIndex, capacity);
+        }
+        if (neighbors[vertex] == null) {
+            neighbors[vertex] = new int[INITIAL_DEGREE_CAPACITY];
+            weights[vertex] = new int[INITIAL_DEGREE_CAPACITY];
+        }
+        return vertex;
     }
 
+    // Removes the vertex's edges, O(degree) when the neighbours are hash indexed.
+    // The other vertices keep their ids.
     public void removeVertex(int vertex) {
         if (isValidVertex(vertex)) {
-            numVertices--;
-            adjacencyList.remove(vertex);
-
-            // Remove references to the removed vertex in other vertices' lists
-            for (List<Integer> list : adjacencyList) {
-                list.remove(Integer.valueOf(vertex));
+            while (degree[vertex] > 0) {
+                removeEdge(vertex, neighbors[vertex][degree[vertex] - 1]);
             }
+            // Keep small arrays for when the id is reused, drop large ones
+            if (neighbors[vertex].length > INITIAL_DEGREE_CAPACITY) {
+                neighbors[vertex] = new int[INITIAL_DEGREE_CAPACITY];
+                weights[vertex] = new int[INITIAL_DEGREE_CAPACITY];
+            }
+            hashIndex[vertex] = null;
+            slots.release(vertex);
+            version++;
         } else {
             System.out.println("Invalid vertex index");
         }
     }
 
+    // Renumbers the vertices densely, keeping their order, and returns the
+    // old id -> new id mapping (-1 for removed vertices). O(V + E).
+    public int[] compact() {
+        int[] mapping = slots.compact();
+        int numVertices = slots.bound();
+        int capacity = Math.max(numVertices, 1);
+        int[][] newNeighbors = new int[capacity][];
+        int[][] newWeights = new int[capacity][];
+        int[] newDegree = new int[capacity];
+        int[][] newHashIndex = new int[capacity][];
+        for (int v = 0; v < mapping.length; v++) {
+            int target = mapping[v];
+            if (target == -1) {
+                continue;
+            }
+            int[] adjacent = neighbors[v];
+            for (int i = 0; i < degree[v]; i++) {
+                adjacent[i] = mapping[adjacent[i]];
+            }
+            newNeighbors[target] = adjacent;
+            newWeights[target] = weights[v];
+            newDegree[target] = degree[v];
+        }
+        neighbors = newNeighbors;
+        weights = newWeights;
+        degree = newDegree;
+        hashIndex = newHashIndex;
+        for (int v = 0; v < numVertices; v++) {
+            if (hashIndexEnabled && degree[v] >= HASH_INDEX_THRESHOLD) {
+                rebuildHashIndex(v, tableSizeFor(degree[v]));
+            }
+        }
+        version++;
+        return mapping;
+    }
+
     public boolean containsVertex(int vertex) {
         return isValidVertex(vertex);
     }
 
     public boolean containsEdge(int source, int destination) {
         if (isValidVertex(source) && isValidVertex(destination)) {
-            return adjacencyList.get(source).contains(destination);
+            return slotOf(source, destination) >= 0;
         } else {
             System.out.println("Invalid vertex index");
             return false;
         }
     }
-    private boolean isValidVertex(int vertex) {
-        return vertex >= 0 && vertex < numVertices;
+
+    // 0 if there is no edge, like an empty adjacency matrix cell
+    public int getWeight(int source, int destination) {
+        int slot = slotOf(source, destination);
+        return slot >= 0 ? weights[source][slot] : 0;
     }
 
-    public void traverseGraph(int startVertex) {
-        if (isValidVertex(startVertex)) {
-            boolean[] visited = new boolean[numVertices];
-            traverseGraphRecursive(startVertex, visited);
-            System.out.println();
-        } else {
-            System.out.println("Invalid start vertex index");
-        }
+    public int getDegree(int vertex) {
+        return degree[vertex];
     }
 
-    private void traverseGraphRecursive(int currentVertex, boolean[] visited) {
-        visited[currentVertex] = true;
-        System.out.print(currentVertex + " ");
+    // Live backing arrays for the MST engines; only the first getDegree(vertex) entries are valid
+    int[] neighbors(int vertex) {
+        return neighbors[vertex];
+    }
+
+    int[] weights(int vertex) {
+        return weights[vertex];
+    }
 
-        for (int neighbor : adjacencyList.get(currentVertex)) {
-            if (!visited[neighbor]) {
-                traverseGraphRecursive(neighbor, visited);
+    public PrimitiveEdgeList getEdgeList() {
+        PrimitiveEdgeList edges = new PrimitiveEdgeList();
+        for (int i = 0; i < getNumVertices(); i++) {
+            for (int j = 0; j < degree[i]; j++) {
+                if (i < neighbors[i][j]) {
+                    edges.add(i, neighbors[i][j], weights[i][j]);
+                }
             }
         }
+        return edges;
+    }
+
+    private boolean isValidVertex(int vertex) {
+        return slots.isLive(vertex);
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        int[] adjacent = neighbors[vertex];
+        for (int i = 0; i < degree[vertex]; i++) {
+            action.accept(adjacent[i]);
+        }
+    }
+
+    // Prints the vertices in depth-first order, see GraphTraversal for the non-printing API
+    public void traverseGraph(int startVertex) {
+        GraphTraversal.print(this, startVertex);
     }
 
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < numVertices; i++) {
+        for (int i = 0; i < getNumVertices(); i++) {
             sb.append(i).append(": ");
-            for (int neighbor : adjacencyList.get(i)) {
-                sb.append(neighbor).append(" ");
+            for (int j = 0; j < degree[i]; j++) {
+                sb.append(neighbors[i][j]).append("(").append(weights[i][j]).append(") ");
             }
             sb.append("\n");
         }
         return sb.toString();
     }
 
+    // Slot of target in vertex's arrays, or -1
+    private int slotOf(int vertex, int target) {
+        int[] table = hashIndex[vertex];
+        int[] adjacent = neighbors[vertex];
+        if (table == null) {
+            for (int i = 0; i < degree[vertex]; i++) {
+                if (adjacent[i] == target) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int bucket = hash(target) & mask; table[bucket] != EMPTY; bucket = (bucket + 1) & mask) {
+            if (adjacent[table[bucket] - 1] == target) {
+                return table[bucket] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void append(int vertex, int target, int weight) {
+        int slot = degree[vertex];
+        if (slot == neighbors[vertex].length) {
+            int capacity = Math.max(INITIAL_DEGREE_CAPACITY, slot * 2);
+            neighbors[vertex] = Arrays.copyOf(neighbors[vertex], capacity);
+            weights[vertex] = Arrays.copyOf(weights[vertex], capacity);
+        }
+        neighbors[vertex][slot] = target;
+        weights[vertex][slot] = weight;
+        degree[vertex]++;
 
+        int[] table = hashIndex[vertex];
+        if (table == null) {
+            if (hashIndexEnabled && degree[vertex] >= HASH_INDEX_THRESHOLD) {
+                rebuildHashIndex(vertex, tableSizeFor(degree[vertex]));
+            }
+        } else if (degree[vertex] * 2 > table.length) {
+            rebuildHashIndex(vertex, table.length * 2);
+        } else {
+            insertIntoIndex(table, target, slot);
+        }
+    }
+
+    // Swap-with-last removal, the moved neighbour's index entry is pointed at its new slot
+    private void removeSlot(int vertex, int slot) {
+        int last = degree[vertex] - 1;
+        int[] table = hashIndex[vertex];
+        if (table != null) {
+            removeFromIndex(vertex, table, neighbors[vertex][slot]);
+            if (slot != last) {
+                int mask = table.length - 1;
+                int moved = neighbors[vertex][last];
+                int bucket = hash(moved) & mask;
+                while (table[bucket] - 1 != last) {
+                    bucket = (bucket + 1) & mask;
+                }
+                table[bucket] = slot + 1;
+            }
+        }
+        neighbors[vertex][slot] = neighbors[vertex][last];
+        weights[vertex][slot] = weights[vertex][last];
+        degree[vertex]--;
+    }
+
+    private void rebuildHashIndex(int vertex, int tableSize) {
+        int[] table = new int[tableSize];
+        for (int i = 0; i < degree[vertex]; i++) {
+            insertIntoIndex(table, neighbors[vertex][i], i);
+        }
+        hashIndex[vertex] = table;
+    }
+
+    private static void insertIntoIndex(int[] table, int target, int slot) {
+        int mask = table.length - 1;
+        int bucket = hash(target) & mask;
+        while (table[bucket] != EMPTY) {
+            bucket = (bucket + 1) & mask;
+        }
+        table[bucket] = slot + 1;
+    }
+
+    // Linear-probing delete with backward shift, so no tombstones are needed
+    private void removeFromIndex(int vertex, int[] table, int target) {
+        int mask = table.length - 1;
+        int[] adjacent = neighbors[vertex];
+        int bucket = hash(target) & mask;
+        while (adjacent[table[bucket] - 1] != target) {
+            bucket = (bucket + 1) & mask;
+        }
+
+        int hole = bucket;
+        for (int next = (hole + 1) & mask; table[next] != EMPTY; next = (next + 1) & mask) {
+            int home = hash(adjacent[table[next] - 1]) & mask;
+            // Move the entry back if its home bucket is not between the hole and its current bucket
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = EMPTY;
+    }
+
+    private static int tableSizeFor(int entries) {
+        return Integer.highestOneBit(Math.max(entries * 2 - 1, 1)) << 1;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
 }
@@ -5,121 +5,248 @@ package GraphRepresentations;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
 
+// The matrix is symmetric, so each edge is stored once, in TriangularWeights:
+// one contiguous array holding the upper triangle, narrowed to bytes or shorts
+// while the weights fit. Cells of a new vertex are past the end of the array
+// and read as 0, so addVertex is O(1) and the array only grows when an edge
+// needs one of those cells. At most TriangularWeights.MAX_VERTICES vertices.
+//
+// Removed vertices keep their id (see VertexSlots), so removeVertex only clears
+// the vertex's cells. compact() renumbers the remaining vertices when the gaps
+// are no longer wanted.
+//
+// asWeightMatrix() reads the matrix in place; toAdjacencyMatrix() is a full
+// int[][] copy and should only be used when a copy is really wanted.
 public class GraphUsingAdjacencyMatrix implements GraphInterface{
-    private int[][] adjacencyMatrix;
-    private int numVertices;
+    // Rows per getEdgeList task; a block reads this many cells of each column
+    private static final int EXTRACT_BLOCK_ROWS = 64;
 
+    private TriangularWeights weights;
+    private final VertexSlots slots;
+    // Written by the thread that edits the graph, read by MST jobs checking their cached results
+    private volatile long version;
+
+    // Vertex ids are 0 .. getNumVertices() - 1, removed ids included
     public int getNumVertices() {
-        return numVertices;
+        return slots.bound();
+    }
+
+    public int getNumActiveVertices() {
+        return slots.numLive();
+    }
+
+    // Bumped by every addEdge, removeEdge, addVertex, removeVertex and compact that changes the graph
+    public long getVersion() {
+        return version;
     }
 
     public GraphUsingAdjacencyMatrix(int numVertices) {
-        this.numVertices = numVertices;
-        adjacencyMatrix = new int[numVertices][numVertices];
+        weights = new TriangularWeights(numVertices);
+        slots = new VertexSlots(numVertices);
     }
 
     public void addEdge(Edge edge) {
-        adjacencyMatrix[edge.getSrc()][edge.getDest()] = edge.getWeight();
-        adjacencyMatrix[edge.getDest()][edge.getSrc()] = edge.getWeight();
+        if (containsVertex(edge.getSrc()) && containsVertex(edge.getDest())) {
+            weights.set(edge.getSrc(), edge.getDest(), edge.getWeight(), slots.capacity());
+            version++;
+        } else {
+            System.out.println("Invalid vertex index");
+        }
+    }
+
+    // Bulk version of addEdge, without an Edge object per edge
+    public void addEdges(PrimitiveEdgeList edges) {
+        for (int e = 0; e < edges.size(); e++) {
+            int source = edges.getSrc(e);
+            int destination = edges.getDest(e);
+            if (containsVertex(source) && containsVertex(destination)) {
+                weights.set(source, destination, edges.getWeight(e), slots.capacity());
+            } else {
+                System.out.println("Invalid vertex index");
+            }
+        }
+        version++;
     }
 
     public void removeEdge(int source, int destination) {
-        if (source >= 0 && source < numVertices && destination >= 0 && destination < numVertices) {
-            adjacencyMatrix[source][destination] = 0;
-            adjacencyMatrix[destination][source] = 0;
+        if (containsVertex(source) && containsVertex(destination)) {
+            weights.set(source, destination, 0, slots.capacity());
+            version++;
         } else {
             System.out.println("Invalid vertex index");
         }
     }
 
-    public void addVertex() {
-        numVertices++;
-        int[][] newAdjacencyMatrix = new int[numVertices][numVertices];
-        for (int i = 0; i < numVertices - 1; i++) {
-            newAdjacencyMatrix[i] = Arrays.copyOf(adjacencyMatrix[i], numVertices);
+    // Amortized O(1), returns the id of the new vertex
+    public int addVertex() {
+        if (slots.numRemoved() == 0 && slots.bound() == TriangularWeights.MAX_VERTICES) {
+            throw new IllegalStateException("A dense matrix supports at most "
+                    + TriangularWeights.MAX_VERTICES + " vertices");
         }
-        adjacencyMatrix = newAdjacencyMatrix;
+        int vertex = slots.allocate();
+        version++;
+        return vertex;
     }
 
+    // O(V) to clear the vertex's cells; the other vertices keep their ids
     public void removeVertex(int vertex) {
-        if (vertex >= 0 && vertex < numVertices) {
-            numVertices--;
-            int[][] newAdjacencyMatrix = new int[numVertices][numVertices];
-            int row = 0;
-            int col;
-            for (int i = 0; i < numVertices + 1; i++) {
-                if (i == vertex) {
-                    continue;
-                }
-                col = 0;
-                for (int j = 0; j < numVertices + 1; j++) {
-                    if (j == vertex) {
-                        continue;
-                    }
-                    newAdjacencyMatrix[row][col] = adjacencyMatrix[i][j];
-                    col++;
-                }
-                row++;
-            }
-            adjacencyMatrix = newAdjacencyMatrix;
+        if (containsVertex(vertex)) {
+            weights.clearRow(vertex, getNumVertices());
+            slots.release(vertex);
+            version++;
         } else {
             System.out.println("Invalid vertex index");
         }
     }
 
+    // Renumbers the vertices densely, keeping their order, and returns the
+    // old id -> new id mapping (-1 for removed vertices). O(V^2).
+    public int[] compact() {
+        int[] mapping = slots.compact();
+        int numVertices = slots.bound();
+        TriangularWeights compacted = new TriangularWeights(numVertices);
+        int[] row = new int[mapping.length];
+        for (int i = 0; i < mapping.length; i++) {
+            if (mapping[i] == -1) {
+                continue;
+            }
+            weights.copyRow(i, row, i, mapping.length);
+            for (int j = i; j < mapping.length; j++) {
+                if (row[j] != 0) {
+                    compacted.set(mapping[i], mapping[j], row[j], numVertices);
+                }
+            }
+        }
+        weights = compacted;
+        version++;
+        return mapping;
+    }
+
     public boolean containsVertex(int vertex) {
-        return vertex >= 0 && vertex < numVertices;
+        return slots.isLive(vertex);
     }
 
     public boolean containsEdge(int source, int destination) {
-        if (source >= 0 && source < numVertices && destination >= 0 && destination < numVertices) {
-            return adjacencyMatrix[source][destination] == 1;
+        if (containsVertex(source) && containsVertex(destination)) {
+            return getWeight(source, destination) != 0;
         } else {
             System.out.println("Invalid vertex index");
             return false;
         }
     }
 
+    public int getWeight(int source, int destination) {
+        return weights.get(source, destination);
+    }
+
+    // Bytes per stored weight, 1, 2 or 4 depending on the largest weight seen
+    public int getWeightWidth() {
+        return weights.width();
+    }
+
     public List<Edge> getAllEdges() {
-        List<Edge> edges = new ArrayList<>();
+        PrimitiveEdgeList edgeList = getEdgeList();
+        List<Edge> edges = new ArrayList<>(edgeList.size());
+        for (int i = 0; i < edgeList.size(); i++) {
+            edges.add(edgeList.toEdge(i));
+        }
+        return edges;
+    }
 
-        for (int i = 0; i < numVertices; i++) {
-            for (int j = i + 1; j < numVertices; j++) {
-                if (adjacencyMatrix[i][j] != 0) {
-                    edges.add(new Edge(i, j, adjacencyMatrix[i][j]));
+    // Same edges as getAllEdges(), kept in primitive arrays instead of Edge objects
+    public PrimitiveEdgeList getEdgeList() {
+        return getEdgeList(ForkJoinPool.commonPool());
+    }
+
+    // The edges in row order, (i, j) with i < j, extracted by blocks of rows in
+    // parallel. A block reads, for each column, the block's cells of that column,
+    // which are contiguous. A first pass counts the edges of every row so the
+    // list can be sized exactly and each row written at its final position.
+    public PrimitiveEdgeList getEdgeList(ForkJoinPool pool) {
+        int numVertices = getNumVertices();
+        int[] rowOffsets = new int[numVertices + 1];
+        ParallelRange.forEach(pool, 0, numVertices, EXTRACT_BLOCK_ROWS, (from, to) -> {
+            int[] cells = new int[to - from];
+            for (int j = from + 1; j < numVertices; j++) {
+                int end = Math.min(to, j);
+                weights.copyColumn(j, from, end, cells);
+                for (int i = from; i < end; i++) {
+                    if (cells[i - from] != 0) {
+                        rowOffsets[i + 1]++;
+                    }
                 }
             }
+        });
+        for (int i = 0; i < numVertices; i++) {
+            rowOffsets[i + 1] += rowOffsets[i];
         }
 
+        int numEdges = rowOffsets[numVertices];
+        PrimitiveEdgeList edges = new PrimitiveEdgeList(numEdges);
+        int[] sources = edges.sources();
+        int[] destinations = edges.destinations();
+        int[] edgeWeights = edges.weights();
+        ParallelRange.forEach(pool, 0, numVertices, EXTRACT_BLOCK_ROWS, (from, to) -> {
+            int[] cells = new int[to - from];
+            int[] next = Arrays.copyOfRange(rowOffsets, from, to);
+            for (int j = from + 1; j < numVertices; j++) {
+                int end = Math.min(to, j);
+                weights.copyColumn(j, from, end, cells);
+                for (int i = from; i < end; i++) {
+                    int weight = cells[i - from];
+                    if (weight != 0) {
+                        int e = next[i - from]++;
+                        sources[e] = i;
+                        destinations[e] = j;
+                        edgeWeights[e] = weight;
+                    }
+                }
+            }
+        });
+        edges.setSize(numEdges);
+
         return edges;
     }
 
-    public void traverseGraph(int startVertex) {
-        if (startVertex >= 0 && startVertex < numVertices) {
-            boolean[] visited = new boolean[numVertices];
-            traverseGraphRecursive(startVertex, visited);
-            System.out.println();
-        } else {
-            System.out.println("Invalid start vertex index");
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        for (int j = 0; j < getNumVertices(); j++) {
+            if (weights.get(vertex, j) != 0) {
+                action.accept(j);
+            }
         }
     }
 
-    private void traverseGraphRecursive(int currentVertex, boolean[] visited) {
-        visited[currentVertex] = true;
-        System.out.print(currentVertex + " ");
+    // Read-only view of the weights without copying them; it follows later changes
+    public WeightMatrix asWeightMatrix() {
+        return new WeightMatrix() {
+            public int size() {
+                return getNumVertices();
+            }
 
-        for (int i = 0; i < numVertices; i++) {
-            if (adjacencyMatrix[currentVertex][i] == 1 && !visited[i]) {
-                traverseGraphRecursive(i, visited);
+            public int get(int row, int column) {
+                return weights.get(row, column);
             }
-        }
+
+            public void copyRow(int row, int[] dest) {
+                weights.copyRow(row, dest, 0, getNumVertices());
+            }
+        };
+    }
+
+    // Prints the vertices in depth-first order, see GraphTraversal for the non-printing API
+    public void traverseGraph(int startVertex) {
+        GraphTraversal.print(this, startVertex);
     }
+
     public int[][] toAdjacencyMatrix() {
+        int numVertices = getNumVertices();
         int[][] adjacencyMatrixCopy = new int[numVertices][numVertices];
 
         for (int i = 0; i < numVertices; i++) {
-            System.arraycopy(adjacencyMatrix[i], 0, adjacencyMatrixCopy[i], 0, numVertices);
+            weights.copyRow(i, adjacencyMatrixCopy[i], 0, numVertices);
         }
 
         return adjacencyMatrixCopy;
@@ -127,10 +254,12 @@ public class GraphUsingAdjacencyMatrix implements GraphInterface{
 
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < numVertices; i++) {
+        int[] row = new int[getNumVertices()];
+        for (int i = 0; i < getNumVertices(); i++) {
             sb.append(i).append(": ");
-            for (int j = 0; j < numVertices; j++) {
-                sb.append(adjacencyMatrix[i][j]).append(" ");
+            weights.copyRow(i, row, 0, row.length);
+            for (int weight : row) {
+                sb.append(weight).append(" ");
             }
             sb.append("\n");
         }
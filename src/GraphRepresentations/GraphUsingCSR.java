@@ -0,0 +1,258 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+// Immutable undirected graph in compressed sparse row form. The neighbours of
+// vertex v are targets[offsets[v] .. offsets[v + 1] - 1] and every undirected
+// edge is stored once in each direction. Build one with GraphUsingCSR.Builder.
+public class GraphUsingCSR implements GraphInterface {
+    private final int numVertices;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private GraphUsingCSR(int numVertices, int[] offsets, int[] targets, int[] weights) {
+        this.numVertices = numVertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static GraphUsingCSR fromAdjacencyMatrix(GraphUsingAdjacencyMatrix matrix) {
+        int numVertices = matrix.getNumVertices();
+
+        WeightMatrix view = matrix.asWeightMatrix();
+        int[] row = new int[numVertices];
+
+        int[] offsets = new int[numVertices + 1];
+        for (int i = 0; i < numVertices; i++) {
+            view.copyRow(i, row);
+            int degree = 0;
+            for (int j = 0; j < numVertices; j++) {
+                if (i != j && row[j] != 0) {
+                    degree++;
+                }
+            }
+            offsets[i + 1] = offsets[i] + degree;
+        }
+
+        int[] targets = new int[offsets[numVertices]];
+        int[] weights = new int[offsets[numVertices]];
+        for (int i = 0; i < numVertices; i++) {
+            view.copyRow(i, row);
+            int next = offsets[i];
+            for (int j = 0; j < numVertices; j++) {
+                int weight = row[j];
+                if (i != j && weight != 0) {
+                    targets[next] = j;
+                    weights[next] = weight;
+                    next++;
+                }
+            }
+        }
+
+        return new GraphUsingCSR(numVertices, offsets, targets, weights);
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    // Number of undirected edges
+    public int getNumEdges() {
+        return targets.length / 2;
+    }
+
+    public int getDegree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    // The backing arrays are shared, not copied, so the MST engines can run on them directly
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    int[] weights() {
+        return weights;
+    }
+
+    // Immutable, so always the same
+    public long getVersion() {
+        return 0;
+    }
+
+    public void addEdge(Edge edge) {
+        throw new UnsupportedOperationException("GraphUsingCSR is immutable, use GraphUsingCSR.Builder");
+    }
+
+    public void removeEdge(int source, int destination) {
+        throw new UnsupportedOperationException("GraphUsingCSR is immutable, use GraphUsingCSR.Builder");
+    }
+
+    public int addVertex() {
+        throw new UnsupportedOperationException("GraphUsingCSR is immutable, use GraphUsingCSR.Builder");
+    }
+
+    public void removeVertex(int vertex) {
+        throw new UnsupportedOperationException("GraphUsingCSR is immutable, use GraphUsingCSR.Builder");
+    }
+
+    public boolean containsVertex(int vertex) {
+        return vertex >= 0 && vertex < numVertices;
+    }
+
+    public boolean containsEdge(int source, int destination) {
+        if (containsVertex(source) && containsVertex(destination)) {
+            for (int i = offsets[source]; i < offsets[source + 1]; i++) {
+                if (targets[i] == destination) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            System.out.println("Invalid vertex index");
+            return false;
+        }
+    }
+
+    public List<Edge> getAllEdges() {
+        List<Edge> edges = new ArrayList<>(getNumEdges());
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (u < targets[i]) {
+                    edges.add(new Edge(u, targets[i], weights[i]));
+                }
+            }
+        }
+        return edges;
+    }
+
+    public PrimitiveEdgeList getEdgeList() {
+        PrimitiveEdgeList edges = new PrimitiveEdgeList(getNumEdges());
+        for (int u = 0; u < numVertices; u++) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                if (u < targets[i]) {
+                    edges.add(u, targets[i], weights[i]);
+                }
+            }
+        }
+        return edges;
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    // Prints the vertices in depth-first order, see GraphTraversal for the non-printing API
+    public void traverseGraph(int startVertex) {
+        GraphTraversal.print(this, startVertex);
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int u = 0; u < numVertices; u++) {
+            sb.append(u).append(": ");
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                sb.append(targets[i]).append("(").append(weights[i]).append(") ");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    // Collects edges into primitive arrays and converts them to CSR in two
+    // counting passes. If no vertex count is given it is inferred from the
+    // largest vertex id seen.
+    public static class Builder {
+        private final int fixedNumVertices;
+        private final PrimitiveEdgeList edges = new PrimitiveEdgeList();
+        private int maxVertex = -1;
+
+        public Builder() {
+            this(-1);
+        }
+
+        public Builder(int numVertices) {
+            this.fixedNumVertices = numVertices;
+        }
+
+        public Builder addEdge(int source, int destination, int weight) {
+            if (source < 0 || destination < 0
+                    || (fixedNumVertices >= 0 && (source >= fixedNumVertices || destination >= fixedNumVertices))) {
+                throw new IllegalArgumentException("Invalid vertex index: " + source + " -- " + destination);
+            }
+            // Self loops never belong to a spanning tree
+            if (source == destination) {
+                return this;
+            }
+            edges.add(source, destination, weight);
+            maxVertex = Math.max(maxVertex, Math.max(source, destination));
+            return this;
+        }
+
+        public Builder addEdge(Edge edge) {
+            return addEdge(edge.getSrc(), edge.getDest(), edge.getWeight());
+        }
+
+        public Builder addEdges(Iterable<Edge> edges) {
+            for (Edge edge : edges) {
+                addEdge(edge);
+            }
+            return this;
+        }
+
+        public Builder addEdges(Stream<Edge> edges) {
+            edges.forEachOrdered(this::addEdge);
+            return this;
+        }
+
+        public Builder addEdges(PrimitiveEdgeList edges) {
+            this.edges.ensureCapacity(this.edges.size() + edges.size());
+            for (int e = 0; e < edges.size(); e++) {
+                addEdge(edges.getSrc(e), edges.getDest(e), edges.getWeight(e));
+            }
+            return this;
+        }
+
+        public GraphUsingCSR build() {
+            int numVertices = fixedNumVertices >= 0 ? fixedNumVertices : maxVertex + 1;
+            int numEdges = edges.size();
+            int[] sources = edges.sources();
+            int[] destinations = edges.destinations();
+            int[] edgeWeights = edges.weights();
+
+            int[] offsets = new int[numVertices + 1];
+            for (int e = 0; e < numEdges; e++) {
+                offsets[sources[e] + 1]++;
+                offsets[destinations[e] + 1]++;
+            }
+            for (int v = 0; v < numVertices; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] targets = new int[offsets[numVertices]];
+            int[] weights = new int[offsets[numVertices]];
+            int[] next = Arrays.copyOf(offsets, numVertices);
+            for (int e = 0; e < numEdges; e++) {
+                int u = sources[e];
+                int v = destinations[e];
+                targets[next[u]] = v;
+                weights[next[u]++] = edgeWeights[e];
+                targets[next[v]] = u;
+                weights[next[v]++] = edgeWeights[e];
+            }
+
+            return new GraphUsingCSR(numVertices, offsets, targets, weights);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+
+// Indexed 4-ary min-heap over vertex ids 0..capacity-1 with decrease-key.
+// A 4-ary heap is shallower than a binary one, which keeps sift-down cheap
+// and its children next to each other in memory.
+public class IndexedMinHeap {
+    private static final int ARITY = 4;
+
+    private final int[] heap;      // heap position -> vertex
+    private final int[] position;  // vertex -> heap position, -1 if absent
+    private final int[] keys;      // vertex -> key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int vertex) {
+        return position[vertex] != -1;
+    }
+
+    public int keyOf(int vertex) {
+        return keys[vertex];
+    }
+
+    public void insert(int vertex, int key) {
+        if (contains(vertex)) {
+            throw new IllegalArgumentException("Vertex " + vertex + " is already in the heap");
+        }
+        keys[vertex] = key;
+        heap[size] = vertex;
+        position[vertex] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int vertex, int key) {
+        if (key > keys[vertex]) {
+            throw new IllegalArgumentException("New key " + key + " is greater than current key " + keys[vertex]);
+        }
+        keys[vertex] = key;
+        siftUp(position[vertex]);
+    }
+
+    public int minKey() {
+        return keys[heap[0]];
+    }
+
+    public int pollMin() {
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int vertex = heap[i];
+        int key = keys[vertex];
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            int parentVertex = heap[parent];
+            if (keys[parentVertex] <= key) {
+                break;
+            }
+            heap[i] = parentVertex;
+            position[parentVertex] = i;
+            i = parent;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+
+    private void siftDown(int i) {
+        int vertex = heap[i];
+        int key = keys[vertex];
+        while (true) {
+            int firstChild = i * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + ARITY, size);
+            int minChild = firstChild;
+            int minKey = keys[heap[firstChild]];
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                int childKey = keys[heap[c]];
+                if (childKey < minKey) {
+                    minKey = childKey;
+                    minChild = c;
+                }
+            }
+            if (minKey >= key) {
+                break;
+            }
+            int childVertex = heap[minChild];
+            heap[i] = childVertex;
+            position[childVertex] = i;
+            i = minChild;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+}
@@ -0,0 +1,173 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+// Kruskal's algorithm over a PrimitiveEdgeList. Edges are ordered by sorting
+// packed (weight << 32 | edge index) longs, so the sort is primitive and ties
+// are broken by insertion order, exactly like a stable sort on weight. Edge
+// objects are only created for the accepted MST edges. EdgeKeySort picks a
+// counting, radix or comparison sort for the keys from the range of weights.
+public class KruskalMST {
+    // Edges between progress reports and cancellation checks
+    private static final int PROGRESS_INTERVAL = 1 << 16;
+
+    private KruskalMST() {
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges) {
+        return acceptInOrder(numVertices, edges, EdgeKeySort.sortedKeys(edges));
+    }
+
+    // Same result, with the sort keys and union-find taken from the workspace
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges,
+                                                          MSTWorkspace workspace) {
+        int numEdges = edges.size();
+        long[] keys = workspace.keys(numEdges);
+        workspace.keySort().sort(edges, keys);
+        return acceptInOrder(edges, keys, numEdges, workspace.disjointSet(numVertices), null);
+    }
+
+    // Same edges as findMinimumSpanningTreeEdges, grouped into the trees of the
+    // connected components using the union-find left over from the same pass
+    public static SpanningForest findMinimumSpanningForest(int numVertices, PrimitiveEdgeList edges) {
+        return findMinimumSpanningForest(numVertices, edges, null, null);
+    }
+
+    // Reports progress to listener, if not null, and can then be cancelled by interrupting the thread
+    public static SpanningForest findMinimumSpanningForest(int numVertices, PrimitiveEdgeList edges,
+                                                           MSTProgressListener listener) {
+        return findMinimumSpanningForest(numVertices, edges, null, listener);
+    }
+
+    // removed[v] marks vertex ids that are not part of the graph, may be null
+    static SpanningForest findMinimumSpanningForest(int numVertices, PrimitiveEdgeList edges, boolean[] removed) {
+        return findMinimumSpanningForest(numVertices, edges, removed, null);
+    }
+
+    private static SpanningForest findMinimumSpanningForest(int numVertices, PrimitiveEdgeList edges,
+                                                            boolean[] removed, MSTProgressListener listener) {
+        DisjointSet components = new DisjointSet(numVertices);
+        if (listener != null) {
+            listener.onProgress(0, edges.size(), components.count());
+        }
+        List<Edge> results = acceptInOrder(edges, EdgeKeySort.sortedKeys(edges), edges.size(), components, listener);
+        return new SpanningForest(results, components, removed);
+    }
+
+    // Instrumented versions of the two above, used while MSTMetrics is enabled.
+    // Same results, with the phases timed and the union-find work counted.
+    static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges, MSTMetrics metrics) {
+        long time = System.nanoTime();
+        long[] keys = EdgeKeySort.sortedKeys(edges);
+        time = metrics.endPhase(MSTMetrics.Phase.SORT, time);
+        return acceptInOrder(edges, keys, new DisjointSet(numVertices), null, metrics, time);
+    }
+
+    static SpanningForest findMinimumSpanningForest(int numVertices, PrimitiveEdgeList edges, boolean[] removed,
+                                                    MSTProgressListener listener, MSTMetrics metrics) {
+        DisjointSet components = new DisjointSet(numVertices);
+        if (listener != null) {
+            listener.onProgress(0, edges.size(), components.count());
+        }
+        long time = System.nanoTime();
+        long[] keys = EdgeKeySort.sortedKeys(edges);
+        time = metrics.endPhase(MSTMetrics.Phase.SORT, time);
+        List<Edge> results = acceptInOrder(edges, keys, components, listener, metrics, time);
+        time = System.nanoTime();
+        SpanningForest forest = new SpanningForest(results, components, removed);
+        metrics.endPhase(MSTMetrics.Phase.RESULT, time);
+        return forest;
+    }
+
+    static long packKey(int weight, int edgeIndex) {
+        return ((long) weight << 32) | edgeIndex;
+    }
+
+    static int edgeIndex(long key) {
+        return (int) key;
+    }
+
+    // Walks the sorted keys and keeps every edge that joins two different trees
+    static List<Edge> acceptInOrder(int numVertices, PrimitiveEdgeList edges, long[] sortedKeys) {
+        return acceptInOrder(edges, sortedKeys, sortedKeys.length, new DisjointSet(numVertices), null);
+    }
+
+    // Stops once everything is one set; components is left holding the forest's sets.
+    // listener may be null, otherwise it is called every PROGRESS_INTERVAL edges and
+    // at the end, and an interrupt of the running thread cancels the pass.
+    static List<Edge> acceptInOrder(PrimitiveEdgeList edges, long[] sortedKeys, int numKeys,
+                                    DisjointSet components, MSTProgressListener listener) {
+        int[] sources = edges.sources();
+        int[] destinations = edges.destinations();
+        List<Edge> results = new ArrayList<>(Math.max(components.size() - 1, 0));
+
+        int j = 0;
+        for (; j < numKeys && components.count() > 1; j++) {
+            if (listener != null && (j & (PROGRESS_INTERVAL - 1)) == 0 && j > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Kruskal's algorithm was cancelled");
+                }
+                listener.onProgress(j, numKeys, components.count());
+            }
+            int e = edgeIndex(sortedKeys[j]);
+            int x = components.find(sources[e]);
+            int y = components.find(destinations[e]);
+
+            if (x != y) {
+                results.add(edges.toEdge(e));
+                components.link(x, y);
+            }
+        }
+        if (listener != null) {
+            listener.onProgress(j, numKeys, components.count());
+        }
+
+        return results;
+    }
+
+    // Copy of the loop above for MSTMetrics, kept apart so the plain loop has no
+    // counters. Accepted edges are collected as indices first, so building the
+    // Edge objects can be timed as its own phase; time is the end of the sort.
+    private static List<Edge> acceptInOrder(PrimitiveEdgeList edges, long[] sortedKeys, DisjointSet components,
+                                            MSTProgressListener listener, MSTMetrics metrics, long time) {
+        int[] sources = edges.sources();
+        int[] destinations = edges.destinations();
+        int numKeys = sortedKeys.length;
+        int[] accepted = new int[Math.max(components.size() - 1, 0)];
+        int numAccepted = 0;
+
+        int j = 0;
+        for (; j < numKeys && components.count() > 1; j++) {
+            if (listener != null && (j & (PROGRESS_INTERVAL - 1)) == 0 && j > 0) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Kruskal's algorithm was cancelled");
+                }
+                listener.onProgress(j, numKeys, components.count());
+            }
+            int e = edgeIndex(sortedKeys[j]);
+            int x = components.find(sources[e], metrics);
+            int y = components.find(destinations[e], metrics);
+
+            if (x != y) {
+                accepted[numAccepted++] = e;
+                components.link(x, y);
+            }
+        }
+        if (listener != null) {
+            listener.onProgress(j, numKeys, components.count());
+        }
+        metrics.edgesScanned += j;
+        metrics.unions += numAccepted;
+        metrics.edgesAccepted += numAccepted;
+        time = metrics.endPhase(MSTMetrics.Phase.UNION_FIND, time);
+
+        List<Edge> results = new ArrayList<>(numAccepted);
+        for (int i = 0; i < numAccepted; i++) {
+            results.add(edges.toEdge(accepted[i]));
+        }
+        metrics.endPhase(MSTMetrics.Phase.RESULT, time);
+        return results;
+    }
+}
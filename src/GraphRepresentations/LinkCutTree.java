@@ -0,0 +1,207 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+
+// Link-cut tree (Sleator-Tarjan) over nodes 0..capacity-1, stored in flat
+// arrays. Every node carries a long value and each path aggregate remembers
+// the node with the largest value, so the heaviest node on the tree path
+// between two nodes can be found in O(log n) amortized. Splaying is
+// iterative, so deep trees cannot overflow the stack.
+public class LinkCutTree {
+    private static final int NONE = -1;
+
+    private int[] left;
+    private int[] right;
+    private int[] parent;
+    private boolean[] flipped;
+    private long[] value;
+    private int[] maxNode;
+    private int[] stack;
+
+    public LinkCutTree(int capacity) {
+        left = new int[0];
+        right = new int[0];
+        parent = new int[0];
+        flipped = new boolean[0];
+        value = new long[0];
+        maxNode = new int[0];
+        stack = new int[0];
+        ensureCapacity(capacity);
+    }
+
+    public int capacity() {
+        return parent.length;
+    }
+
+    public void ensureCapacity(int capacity) {
+        int oldCapacity = parent.length;
+        if (capacity <= oldCapacity) {
+            return;
+        }
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        flipped = Arrays.copyOf(flipped, capacity);
+        value = Arrays.copyOf(value, capacity);
+        maxNode = Arrays.copyOf(maxNode, capacity);
+        stack = new int[capacity];
+        for (int x = oldCapacity; x < capacity; x++) {
+            reset(x, Long.MIN_VALUE);
+        }
+    }
+
+    // Turns x back into an isolated node; x must not be linked to anything
+    public void reset(int x, long nodeValue) {
+        left[x] = NONE;
+        right[x] = NONE;
+        parent[x] = NONE;
+        flipped[x] = false;
+        value[x] = nodeValue;
+        maxNode[x] = x;
+    }
+
+    public long getValue(int x) {
+        return value[x];
+    }
+
+    public boolean connected(int x, int y) {
+        return x == y || findRoot(x) == findRoot(y);
+    }
+
+    // x and y must be in different trees
+    public void link(int x, int y) {
+        makeRoot(x);
+        parent[x] = y;
+    }
+
+    // x and y must be joined by a tree edge
+    public void cut(int x, int y) {
+        makeRoot(x);
+        access(y);
+        // x is now the only node left of y in y's splay tree
+        left[y] = NONE;
+        parent[x] = NONE;
+        update(y);
+    }
+
+    // Node with the largest value on the tree path from x to y; x and y must be connected
+    public int pathMax(int x, int y) {
+        makeRoot(x);
+        access(y);
+        return maxNode[y];
+    }
+
+    public int findRoot(int x) {
+        access(x);
+        while (true) {
+            push(x);
+            if (left[x] == NONE) {
+                break;
+            }
+            x = left[x];
+        }
+        splay(x);
+        return x;
+    }
+
+    private void makeRoot(int x) {
+        access(x);
+        flipped[x] = !flipped[x];
+    }
+
+    private void access(int x) {
+        int last = NONE;
+        for (int y = x; y != NONE; y = parent[y]) {
+            splay(y);
+            right[y] = last;
+            update(y);
+            last = y;
+        }
+        splay(x);
+    }
+
+    private boolean isSplayRoot(int x) {
+        int p = parent[x];
+        return p == NONE || (left[p] != x && right[p] != x);
+    }
+
+    private void push(int x) {
+        if (flipped[x]) {
+            int t = left[x];
+            left[x] = right[x];
+            right[x] = t;
+            if (left[x] != NONE) {
+                flipped[left[x]] = !flipped[left[x]];
+            }
+            if (right[x] != NONE) {
+                flipped[right[x]] = !flipped[right[x]];
+            }
+            flipped[x] = false;
+        }
+    }
+
+    private void update(int x) {
+        int best = x;
+        if (left[x] != NONE && value[maxNode[left[x]]] > value[best]) {
+            best = maxNode[left[x]];
+        }
+        if (right[x] != NONE && value[maxNode[right[x]]] > value[best]) {
+            best = maxNode[right[x]];
+        }
+        maxNode[x] = best;
+    }
+
+    private void rotate(int x) {
+        int p = parent[x];
+        int g = parent[p];
+        if (!isSplayRoot(p)) {
+            if (left[g] == p) {
+                left[g] = x;
+            } else {
+                right[g] = x;
+            }
+        }
+        parent[x] = g;
+        if (left[p] == x) {
+            left[p] = right[x];
+            if (right[x] != NONE) {
+                parent[right[x]] = p;
+            }
+            right[x] = p;
+        } else {
+            right[p] = left[x];
+            if (left[x] != NONE) {
+                parent[left[x]] = p;
+            }
+            left[x] = p;
+        }
+        parent[p] = x;
+        update(p);
+        update(x);
+    }
+
+    private void splay(int x) {
+        // Pending flips have to be pushed down from the top of the splay tree first
+        int top = 0;
+        stack[top++] = x;
+        for (int y = x; !isSplayRoot(y); y = parent[y]) {
+            stack[top++] = parent[y];
+        }
+        while (top > 0) {
+            push(stack[--top]);
+        }
+
+        while (!isSplayRoot(x)) {
+            int p = parent[x];
+            if (!isSplayRoot(p)) {
+                int g = parent[p];
+                if ((left[g] == p) == (left[p] == x)) {
+                    rotate(p);
+                } else {
+                    rotate(x);
+                }
+            }
+            rotate(x);
+        }
+    }
+}
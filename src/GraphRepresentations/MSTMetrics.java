@@ -0,0 +1,204 @@
+package GraphRepresentations;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+// Measurements of one MST run through MinimumSpanningTree: time per phase,
+// union-find counters and the bytes allocated by the thread that ran it.
+//
+// Metrics are off until a listener is added. While off, begin() returns null
+// and every engine takes its usual path, so a run pays one volatile read.
+// While on, Kruskal's algorithm runs a copy of its main loop that counts finds
+// and unions; Prim's, Boruvka and Filter-Kruskal are timed as one SOLVE phase.
+// Work done by other threads (the parallel algorithms) is timed but its
+// allocations are not counted.
+public final class MSTMetrics {
+    public enum Phase {
+        // Getting the edge list or adjacency arrays out of the graph
+        EXTRACT,
+        SORT,
+        UNION_FIND,
+        // Algorithms that are not broken down into the phases above
+        SOLVE,
+        // Creating the Edge objects and, for a forest, its components
+        RESULT
+    }
+
+    private static final MSTMetricsListener[] NO_LISTENERS = new MSTMetricsListener[0];
+    private static volatile MSTMetricsListener[] listeners = NO_LISTENERS;
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS = allocationCounter();
+
+    private final MinimumSpanningTree.Algorithm algorithm;
+    private final int numVertices;
+    private final long startNanos;
+    private final long startAllocatedBytes;
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private long totalNanos;
+    private long allocatedBytes = -1;
+    // Filled in by the engines
+    long finds;
+    long findHops;
+    long unions;
+    long edgesScanned;
+    long edgesAccepted;
+
+    private MSTMetrics(MinimumSpanningTree.Algorithm algorithm, int numVertices) {
+        this.algorithm = algorithm;
+        this.numVertices = numVertices;
+        startAllocatedBytes = allocatedBytes();
+        startNanos = System.nanoTime();
+    }
+
+    public static boolean isEnabled() {
+        return listeners.length > 0;
+    }
+
+    // Listeners are called on the thread that ran the MST, right after it finished
+    public static synchronized void addListener(MSTMetricsListener listener) {
+        MSTMetricsListener[] current = listeners;
+        MSTMetricsListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    public static synchronized void removeListener(MSTMetricsListener listener) {
+        MSTMetricsListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                MSTMetricsListener[] updated = new MSTMetricsListener[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    // Adds a listener that commits an MSTRunEvent for every run while a Flight
+    // Recorder recording has the event enabled. Returns false on a JVM without
+    // the jdk.jfr API; the event class is only loaded when it is there.
+    public static boolean enableFlightRecorderEvents() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            Class<?> emitter = Class.forName("GraphRepresentations.MSTRunEvent$Emitter");
+            addListener((MSTMetricsListener) emitter.getDeclaredConstructor().newInstance());
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return false;
+        }
+    }
+
+    // null while metrics are disabled
+    static MSTMetrics begin(MinimumSpanningTree.Algorithm algorithm, int numVertices) {
+        return isEnabled() ? new MSTMetrics(algorithm, numVertices) : null;
+    }
+
+    // Adds the time since start to phase and returns the current time, so
+    // consecutive phases can be chained
+    long endPhase(Phase phase, long start) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - start;
+        return now;
+    }
+
+    // numResultEdges is the size of the MST or forest returned by the run
+    void finish(int numResultEdges) {
+        totalNanos = System.nanoTime() - startNanos;
+        if (startAllocatedBytes >= 0) {
+            allocatedBytes = allocatedBytes() - startAllocatedBytes;
+        }
+        if (edgesAccepted == 0) {
+            edgesAccepted = numResultEdges;
+        }
+        for (MSTMetricsListener listener : listeners) {
+            listener.onRun(this);
+        }
+    }
+
+    public MinimumSpanningTree.Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    public long getNanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    // Bytes allocated by the running thread, -1 if the JVM cannot tell
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    // Calls to find, and parent links followed by them; Kruskal's algorithm only
+    public long getFinds() {
+        return finds;
+    }
+
+    public long getFindHops() {
+        return findHops;
+    }
+
+    public long getUnions() {
+        return unions;
+    }
+
+    // Sorted edges Kruskal's algorithm looked at before the forest was complete
+    public long getEdgesScanned() {
+        return edgesScanned;
+    }
+
+    public long getEdgesAccepted() {
+        return edgesAccepted;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(algorithm).append(": ").append(millis(totalNanos)).append(" ms");
+        for (Phase phase : Phase.values()) {
+            if (phaseNanos[phase.ordinal()] > 0) {
+                sb.append(", ").append(phase.name().toLowerCase()).append(' ')
+                        .append(millis(phaseNanos[phase.ordinal()])).append(" ms");
+            }
+        }
+        if (edgesScanned > 0) {
+            sb.append(", ").append(edgesScanned).append(" edges scanned, ").append(finds).append(" finds (")
+                    .append(findHops).append(" hops), ").append(unions).append(" unions");
+        }
+        sb.append(", ").append(edgesAccepted).append(" edges accepted");
+        if (allocatedBytes >= 0) {
+            sb.append(", ").append(allocatedBytes / 1024).append(" KB allocated");
+        }
+        return sb.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+
+    private long allocatedBytes() {
+        return ALLOCATIONS == null ? -1 : ALLOCATIONS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // HotSpot's extension of ThreadMXBean, null on JVMs without it
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+                if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                    return counter;
+                }
+            }
+        } catch (LinkageError e) {
+            // Not a HotSpot JVM
+        }
+        return null;
+    }
+}
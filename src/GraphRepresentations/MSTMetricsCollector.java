@@ -0,0 +1,154 @@
+package GraphRepresentations;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Adds up the MSTMetrics of all runs and publishes the totals over JMX as
+// "GraphRepresentations:type=MSTMetrics". Registering the bean does not turn
+// metrics on; setting its Enabled attribute (from code or a JMX console) adds
+// it as a listener, and clearing it removes it again.
+public class MSTMetricsCollector implements MSTMetricsListener, MSTMetricsMXBean {
+    public static final String OBJECT_NAME = "GraphRepresentations:type=MSTMetrics";
+
+    private static MSTMetricsCollector registered;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder[] phaseNanos = new LongAdder[MSTMetrics.Phase.values().length];
+    private final LongAdder finds = new LongAdder();
+    private final LongAdder findHops = new LongAdder();
+    private final LongAdder unions = new LongAdder();
+    private final LongAdder edgesScanned = new LongAdder();
+    private final LongAdder edgesAccepted = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private volatile String lastRun = "";
+    private boolean enabled;
+
+    public MSTMetricsCollector() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = new LongAdder();
+        }
+    }
+
+    // Registers one collector with the platform MBean server and returns it;
+    // later calls return the same collector
+    public static synchronized MSTMetricsCollector register() {
+        if (registered == null) {
+            MSTMetricsCollector collector = new MSTMetricsCollector();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.registerMBean(collector, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+            }
+            registered = collector;
+        }
+        return registered;
+    }
+
+    public void onRun(MSTMetrics metrics) {
+        runs.increment();
+        totalNanos.add(metrics.getTotalNanos());
+        for (MSTMetrics.Phase phase : MSTMetrics.Phase.values()) {
+            phaseNanos[phase.ordinal()].add(metrics.getNanos(phase));
+        }
+        finds.add(metrics.getFinds());
+        findHops.add(metrics.getFindHops());
+        unions.add(metrics.getUnions());
+        edgesScanned.add(metrics.getEdgesScanned());
+        edgesAccepted.add(metrics.getEdgesAccepted());
+        if (metrics.getAllocatedBytes() > 0) {
+            allocatedBytes.add(metrics.getAllocatedBytes());
+        }
+        lastRun = metrics.toString();
+    }
+
+    public synchronized boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized void setEnabled(boolean enabled) {
+        if (enabled != this.enabled) {
+            if (enabled) {
+                MSTMetrics.addListener(this);
+            } else {
+                MSTMetrics.removeListener(this);
+            }
+            this.enabled = enabled;
+        }
+    }
+
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getExtractNanos() {
+        return phaseNanos[MSTMetrics.Phase.EXTRACT.ordinal()].sum();
+    }
+
+    public long getSortNanos() {
+        return phaseNanos[MSTMetrics.Phase.SORT.ordinal()].sum();
+    }
+
+    public long getUnionFindNanos() {
+        return phaseNanos[MSTMetrics.Phase.UNION_FIND.ordinal()].sum();
+    }
+
+    public long getSolveNanos() {
+        return phaseNanos[MSTMetrics.Phase.SOLVE.ordinal()].sum();
+    }
+
+    public long getResultNanos() {
+        return phaseNanos[MSTMetrics.Phase.RESULT.ordinal()].sum();
+    }
+
+    public long getFinds() {
+        return finds.sum();
+    }
+
+    public long getFindHops() {
+        return findHops.sum();
+    }
+
+    public long getUnions() {
+        return unions.sum();
+    }
+
+    public long getEdgesScanned() {
+        return edgesScanned.sum();
+    }
+
+    public long getEdgesAccepted() {
+        return edgesAccepted.sum();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    public String getLastRun() {
+        return lastRun;
+    }
+
+    public void reset() {
+        runs.reset();
+        totalNanos.reset();
+        for (LongAdder adder : phaseNanos) {
+            adder.reset();
+        }
+        finds.reset();
+        findHops.reset();
+        unions.reset();
+        edgesScanned.reset();
+        edgesAccepted.reset();
+        allocatedBytes.reset();
+        lastRun = "";
+    }
+}
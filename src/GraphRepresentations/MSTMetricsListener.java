@@ -0,0 +1,8 @@
+package GraphRepresentations;
+
+// Receives the MSTMetrics of every MST run once metrics are enabled, see
+// MSTMetrics.addListener. Called on the thread that ran the MST, so it should
+// return quickly.
+public interface MSTMetricsListener {
+    void onRun(MSTMetrics metrics);
+}
@@ -0,0 +1,40 @@
+package GraphRepresentations;
+
+// JMX view of MSTMetricsCollector: totals over every run since the last reset.
+// Times are in nanoseconds.
+public interface MSTMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getRuns();
+
+    long getTotalNanos();
+
+    long getExtractNanos();
+
+    long getSortNanos();
+
+    long getUnionFindNanos();
+
+    long getSolveNanos();
+
+    long getResultNanos();
+
+    long getFinds();
+
+    long getFindHops();
+
+    long getUnions();
+
+    long getEdgesScanned();
+
+    long getEdgesAccepted();
+
+    long getAllocatedBytes();
+
+    // Summary of the most recent run, empty before the first one
+    String getLastRun();
+
+    void reset();
+}
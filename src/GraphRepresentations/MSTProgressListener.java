@@ -0,0 +1,12 @@
+package GraphRepresentations;
+
+// Progress callback for long MST runs. processed counts the work units done so
+// far out of total (edges for Kruskal's algorithm, vertices for Prim's), and
+// componentsRemaining is the number of trees in the forest built so far,
+// counting every vertex not reached yet as a tree of its own.
+//
+// Runs that take a listener also stop with a CancellationException when the
+// thread running them is interrupted, for example by Future.cancel(true).
+public interface MSTProgressListener {
+    void onProgress(long processed, long total, int componentsRemaining);
+}
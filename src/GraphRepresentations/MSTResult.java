@@ -0,0 +1,81 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+// The MST of one algorithm on a graph as it was at getVersion(), kept by
+// MinimumSpanningTree until the graph changes. The edges, their total weight
+// and the membership bitset are all fixed when the result is made, so reading
+// them never scans or copies anything.
+public class MSTResult {
+    private final MinimumSpanningTree.Algorithm algorithm;
+    private final GraphInterface graph;
+    private final long version;
+    private final List<Edge> edges;
+    private final long totalWeight;
+    // Indexed like the graph's edge list at version, never modified
+    private final BitSet membership;
+
+    MSTResult(MinimumSpanningTree.Algorithm algorithm, GraphInterface graph, long version, List<Edge> edges,
+              PrimitiveEdgeList edgeList) {
+        this.algorithm = algorithm;
+        this.graph = graph;
+        this.version = version;
+        this.edges = Collections.unmodifiableList(edges);
+        this.membership = membership(edges, edgeList);
+        long sum = 0;
+        for (Edge edge : edges) {
+            sum += edge.getWeight();
+        }
+        totalWeight = sum;
+    }
+
+    public MinimumSpanningTree.Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // True while the graph has not been modified since the result was made
+    public boolean isCurrent() {
+        return graph.getVersion() == version;
+    }
+
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    // True if edge e of graph.getEdgeList() is in the MST. The index refers to
+    // the edge list at getVersion(), so only ask while isCurrent().
+    public boolean isInMST(int edgeIndex) {
+        return membership.get(edgeIndex);
+    }
+
+    private static BitSet membership(List<Edge> edges, PrimitiveEdgeList edgeList) {
+        long[] treeKeys = new long[edges.size()];
+        for (int i = 0; i < treeKeys.length; i++) {
+            treeKeys[i] = pairKey(edges.get(i).getSrc(), edges.get(i).getDest());
+        }
+        Arrays.sort(treeKeys);
+
+        BitSet bits = new BitSet(edgeList.size());
+        for (int e = 0; e < edgeList.size(); e++) {
+            if (Arrays.binarySearch(treeKeys, pairKey(edgeList.getSrc(e), edgeList.getDest(e))) >= 0) {
+                bits.set(e);
+            }
+        }
+        return bits;
+    }
+
+    private static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+}
@@ -0,0 +1,139 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+
+// Scratch buffers for computing many MSTs one after another on one thread:
+// the edge list, Kruskal's sort keys and union-find, and Prim's CSR arrays and
+// heap. Buffers only grow, so after the largest graph has been seen a run
+// allocates nothing but its result. current() gives every thread its own
+// workspace; a workspace must not be shared between threads.
+public class MSTWorkspace {
+    private static final ThreadLocal<MSTWorkspace> CURRENT = ThreadLocal.withInitial(MSTWorkspace::new);
+
+    private final PrimitiveEdgeList edges = new PrimitiveEdgeList();
+    private long[] keys = new long[0];
+    // Sequential, batch runs are already parallel across graphs
+    private final EdgeKeySort keySort = new EdgeKeySort(null);
+    private DisjointSet disjointSet = new DisjointSet(0);
+    private IndexedMinHeap heap = new IndexedMinHeap(0);
+    private boolean[] inTree = new boolean[0];
+    private int[] parent = new int[0];
+    private int[] offsets = new int[1];
+    private int[] targets = new int[0];
+    private int[] weights = new int[0];
+
+    public static MSTWorkspace current() {
+        return CURRENT.get();
+    }
+
+    // Reusable edge list, cleared before it is handed out
+    public PrimitiveEdgeList edges() {
+        edges.clear();
+        return edges;
+    }
+
+    long[] keys(int length) {
+        if (keys.length < length) {
+            keys = new long[grow(keys.length, length)];
+        }
+        return keys;
+    }
+
+    // Keeps the counting and radix sort buffers
+    EdgeKeySort keySort() {
+        return keySort;
+    }
+
+    // Union-find reset to the elements 0..size-1
+    DisjointSet disjointSet(int size) {
+        if (disjointSet.capacity() < size) {
+            disjointSet = new DisjointSet(grow(disjointSet.capacity(), size));
+        }
+        disjointSet.reset(size);
+        return disjointSet;
+    }
+
+    IndexedMinHeap heap(int capacity) {
+        if (heap.capacity() < capacity) {
+            heap = new IndexedMinHeap(grow(heap.capacity(), capacity));
+        } else {
+            heap.clear();
+        }
+        return heap;
+    }
+
+    // Cleared for the vertices 0..numVertices-1
+    boolean[] inTree(int numVertices) {
+        if (inTree.length < numVertices) {
+            inTree = new boolean[grow(inTree.length, numVertices)];
+        } else {
+            Arrays.fill(inTree, 0, numVertices, false);
+        }
+        return inTree;
+    }
+
+    int[] parent(int numVertices) {
+        if (parent.length < numVertices) {
+            parent = new int[grow(parent.length, numVertices)];
+        }
+        return parent;
+    }
+
+    // CSR arrays of the edge list, like GraphUsingCSR.Builder but in reused
+    // buffers; fills offsets(), targets() and weights()
+    void buildCSR(int numVertices, PrimitiveEdgeList edges) {
+        if (offsets.length < numVertices + 1) {
+            offsets = new int[grow(offsets.length, numVertices + 1)];
+        }
+        Arrays.fill(offsets, 0, numVertices + 1, 0);
+        int numEdges = edges.size();
+        int[] sources = edges.sources();
+        int[] destinations = edges.destinations();
+        int[] edgeWeights = edges.weights();
+        for (int e = 0; e < numEdges; e++) {
+            if (sources[e] != destinations[e]) {
+                offsets[sources[e] + 1]++;
+                offsets[destinations[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < numVertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int numArcs = offsets[numVertices];
+        if (targets.length < numArcs) {
+            targets = new int[grow(targets.length, numArcs)];
+            weights = new int[targets.length];
+        }
+        // parent doubles as the insertion cursor, Prim's overwrites it later
+        int[] next = parent(numVertices);
+        System.arraycopy(offsets, 0, next, 0, numVertices);
+        for (int e = 0; e < numEdges; e++) {
+            int u = sources[e];
+            int v = destinations[e];
+            if (u == v) {
+                continue;
+            }
+            targets[next[u]] = v;
+            weights[next[u]++] = edgeWeights[e];
+            targets[next[v]] = u;
+            weights[next[v]++] = edgeWeights[e];
+        }
+    }
+
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] targets() {
+        return targets;
+    }
+
+    int[] weights() {
+        return weights;
+    }
+
+    private static int grow(int current, int needed) {
+        return Math.min(Integer.MAX_VALUE - 8, Math.max(needed, current + (current >> 1)));
+    }
+}
@@ -2,179 +2,318 @@ package GraphRepresentations;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+// The instance methods keep the last result of each algorithm and serve it
+// again until getVersion() changes, so asking for the same MST twice, from the
+// UI or from printing and then drawing it, runs the algorithm once.
 public class MinimumSpanningTree extends GraphUsingAdjacencyMatrix{
+    // Read from the UI thread while an MST job fills it
+    private final Map<Algorithm, MSTResult> cache = new EnumMap<>(Algorithm.class);
+    // One per algorithm, held while it computes, so a miss on two threads runs it once
+    private final Object[] computeLocks = new Object[Algorithm.values().length];
+
     public MinimumSpanningTree(int numVertices) {
         super(numVertices);
+        for (int i = 0; i < computeLocks.length; i++) {
+            computeLocks[i] = new Object();
+        }
     }
 
     public List<Edge> findMinimumSpanningTreeEdges(Algorithm algorithm) {
-        List<Edge> edges = getAllEdges();
-        edges.sort(Comparator.comparingInt(Edge::getWeight));
-
-        int j = 0;
-        int noOfEdges = 0;
+        return getMinimumSpanningTree(algorithm).getEdges();
+    }
 
-        Subset[] subsets = new Subset[getNumVertices()];
-        Edge[] results = new Edge[getNumVertices()];
+    public MSTResult getMinimumSpanningTree(Algorithm algorithm) {
+        return getMinimumSpanningTree(algorithm, null);
+    }
 
-        for (int i = 0; i < getNumVertices(); i++) {
-            subsets[i] = new Subset(i, 0);
+    // The cached result for the current version of the graph, or null
+    public MSTResult getCachedMinimumSpanningTree(Algorithm algorithm) {
+        synchronized (cache) {
+            MSTResult result = cache.get(algorithm);
+            if (result != null && !result.isCurrent()) {
+                cache.remove(algorithm);
+                return null;
+            }
+            return result;
         }
+    }
 
-        while (j < edges.size() && noOfEdges < getNumVertices() - 1) {
-            Edge nextEdge = edges.get(j);
-            int x = findRoot(subsets, nextEdge.getSrc());
-            int y = findRoot(subsets, nextEdge.getDest());
-
-            if (x != y) {
-                results[noOfEdges] = nextEdge;
-                union(subsets, x, y);
-                noOfEdges++;
+    // listener is only called when the algorithm really runs
+    private MSTResult getMinimumSpanningTree(Algorithm algorithm, MSTProgressListener listener) {
+        MSTResult result = getCachedMinimumSpanningTree(algorithm);
+        if (result != null) {
+            return result;
+        }
+        synchronized (computeLocks[algorithm.ordinal()]) {
+            // Another thread may have computed it while this one waited
+            result = getCachedMinimumSpanningTree(algorithm);
+            if (result != null) {
+                return result;
+            }
+            long version = getVersion();
+            List<Edge> edges = computeMinimumSpanningTreeEdges(algorithm, listener);
+            result = new MSTResult(algorithm, this, version, edges, getEdgeList());
+            // Only cache it if the graph did not change under the run, so the
+            // edges and the membership bits both belong to version
+            if (getVersion() == version) {
+                synchronized (cache) {
+                    cache.put(algorithm, result);
+                }
             }
+            return result;
+        }
+    }
 
-            j++;
+    // Prim's runs on the matrix in place, see DensePrimMST, and gives its
+    // edges as (parent, child) pairs. Kruskal's goes through the forest pass
+    // when there is a listener to report to.
+    private List<Edge> computeMinimumSpanningTreeEdges(Algorithm algorithm, MSTProgressListener listener) {
+        int numVertices = getNumVertices();
+        if (algorithm == Algorithm.PRIM) {
+            MSTMetrics metrics = MSTMetrics.begin(Algorithm.PRIM, numVertices);
+            long time = metrics != null ? System.nanoTime() : 0;
+            List<Edge> edges = new ArrayList<>(Math.max(numVertices - 1, 0));
+            DensePrimMST.run(asWeightMatrix(), listener, edges);
+            if (metrics != null) {
+                metrics.endPhase(MSTMetrics.Phase.SOLVE, time);
+                metrics.finish(edges.size());
+            }
+            return edges;
         }
+        if (algorithm == Algorithm.KRUSKAL && listener != null) {
+            return kruskalForest(numVertices, listener).getEdges();
+        }
+        return findMinimumSpanningTreeEdges((GraphInterface) this, algorithm);
+    }
 
-        return new ArrayList<>(Arrays.asList(results).subList(0, noOfEdges));
+    // Runs the MST algorithms on any representation. Prim's walks the adjacency
+    // of CSR, off-heap CSR and list graphs in place; every other case works on
+    // the graph's edge list.
+    // A disconnected graph gives a spanning forest, use findMinimumSpanningForest
+    // to get it split into its components.
+    // Each call is one run for MSTMetrics.
+    public static List<Edge> findMinimumSpanningTreeEdges(GraphInterface graph, Algorithm algorithm) {
+        MSTMetrics metrics = MSTMetrics.begin(algorithm, graph.getNumVertices());
+        List<Edge> result = findMinimumSpanningTreeEdges(graph, algorithm, metrics);
+        if (metrics != null) {
+            metrics.finish(result.size());
+        }
+        return result;
     }
 
+    // Edge-list algorithms; Prim's needs adjacency and goes through CSR here
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges, Algorithm algorithm) {
+        MSTMetrics metrics = MSTMetrics.begin(algorithm, numVertices);
+        List<Edge> result = findMinimumSpanningTreeEdges(numVertices, edges, algorithm, metrics);
+        if (metrics != null) {
+            metrics.finish(result.size());
+        }
+        return result;
+    }
 
-    private int minKey(int[] key, Boolean[] mstSet) {
-        // Initialize min value
-        int min = Integer.MAX_VALUE, min_index = -1;
+    // metrics is null while MSTMetrics is disabled
+    private static List<Edge> findMinimumSpanningTreeEdges(GraphInterface graph, Algorithm algorithm,
+                                                           MSTMetrics metrics) {
+        long time = metrics != null ? System.nanoTime() : 0;
+        if (algorithm == Algorithm.PRIM) {
+            List<Edge> result;
+            if (graph instanceof GraphUsingCSR) {
+                result = PrimMST.findMinimumSpanningTreeEdges((GraphUsingCSR) graph);
+            } else if (graph instanceof OffHeapGraphUsingCSR) {
+                result = PrimMST.findMinimumSpanningTreeEdges((OffHeapGraphUsingCSR) graph);
+            } else if (graph instanceof GraphUsingAdjacencyList) {
+                result = PrimMST.findMinimumSpanningTreeEdges((GraphUsingAdjacencyList) graph);
+            } else {
+                GraphUsingCSR csr = graph instanceof MinimumSpanningTree
+                        ? GraphUsingCSR.fromAdjacencyMatrix((MinimumSpanningTree) graph)
+                        : new GraphUsingCSR.Builder(graph.getNumVertices()).addEdges(graph.getEdgeList()).build();
+                if (metrics != null) {
+                    time = metrics.endPhase(MSTMetrics.Phase.EXTRACT, time);
+                }
+                result = PrimMST.findMinimumSpanningTreeEdges(csr);
+            }
+            if (metrics != null) {
+                metrics.endPhase(MSTMetrics.Phase.SOLVE, time);
+            }
+            return result;
+        }
+        PrimitiveEdgeList edges = graph.getEdgeList();
+        if (metrics != null) {
+            metrics.endPhase(MSTMetrics.Phase.EXTRACT, time);
+        }
+        return findMinimumSpanningTreeEdges(graph.getNumVertices(), edges, algorithm, metrics);
+    }
 
-        for (int v = 0; v < getNumVertices(); v++)
-            if (!mstSet[v] && key[v] < min) {
-                min = key[v];
-                min_index = v;
+    private static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges,
+                                                           Algorithm algorithm, MSTMetrics metrics) {
+        if (metrics == null) {
+            switch (algorithm) {
+                case PRIM:
+                    return PrimMST.findMinimumSpanningTreeEdges(new GraphUsingCSR.Builder(numVertices).addEdges(edges).build());
+                case BORUVKA:
+                    return BoruvkaMST.findMinimumSpanningTreeEdges(numVertices, edges);
+                case FILTER_KRUSKAL:
+                    return FilterKruskalMST.findMinimumSpanningTreeEdges(numVertices, edges);
+                case KRUSKAL:
+                default:
+                    return KruskalMST.findMinimumSpanningTreeEdges(numVertices, edges);
             }
+        }
 
-        return min_index;
+        if (algorithm == Algorithm.KRUSKAL) {
+            return KruskalMST.findMinimumSpanningTreeEdges(numVertices, edges, metrics);
+        }
+        long time = System.nanoTime();
+        List<Edge> result;
+        switch (algorithm) {
+            case PRIM:
+                GraphUsingCSR csr = new GraphUsingCSR.Builder(numVertices).addEdges(edges).build();
+                time = metrics.endPhase(MSTMetrics.Phase.EXTRACT, time);
+                result = PrimMST.findMinimumSpanningTreeEdges(csr);
+                break;
+            case BORUVKA:
+                result = BoruvkaMST.findMinimumSpanningTreeEdges(numVertices, edges);
+                break;
+            default:
+                result = FilterKruskalMST.findMinimumSpanningTreeEdges(numVertices, edges);
+                break;
+        }
+        metrics.endPhase(MSTMetrics.Phase.SOLVE, time);
+        return result;
     }
 
     // A utility function to print the constructed MST
     // stored in parent[]
-    private void printMST(int[] parent, int[][] graph) {
+    private void printMST(int[] parent, WeightMatrix graph) {
         System.out.println("Edge \tWeight");
-        for (int i = 1; i < getNumVertices(); i++)
-            System.out.println(parent[i] + " - " + i + "\t"
-                    + graph[i][parent[i]]);
+        for (int i = 0; i < getNumVertices(); i++)
+            // Roots of the trees in a disconnected graph have no parent
+            if (parent[i] != -1)
+                System.out.println(parent[i] + " - " + i + "\t"
+                        + graph.get(i, parent[i]));
     }
 
     // Function to construct and print MST for a graph
     // represented using adjacency matrix representation
     public void primMST(int[][] graph) {
-        // To represent set of vertices included in MST
-        Boolean[] mstSet = new Boolean[getNumVertices()];
-
+        primMST(graph, null);
+    }
 
+    // Same, reporting progress after every vertex added to the forest; an
+    // interrupt of the running thread cancels it with a CancellationException
+    public void primMST(int[][] graph, MSTProgressListener listener) {
+        primMST(WeightMatrix.of(graph), listener);
+    }
 
-        // Key values used to pick minimum weight edge in
-        // cut
-        int[] key = new int[getNumVertices()];
+    // Runs on this graph's own weights, without copying them into an int[][],
+    // and prints the cached tree if the graph has not changed since the last run
+    public void primMST() {
+        primMST((MSTProgressListener) null);
+    }
 
-        // Initialize all keys as INFINITE
-        for (int i = 0; i < getNumVertices(); i++) {
-            key[i] = Integer.MAX_VALUE;
-            mstSet[i] = false;
+    public void primMST(MSTProgressListener listener) {
+        int[] parent = new int[getNumVertices()];
+        Arrays.fill(parent, -1);
+        for (Edge edge : getMinimumSpanningTree(Algorithm.PRIM, listener).getEdges()) {
+            parent[edge.getDest()] = edge.getSrc();
         }
+        printMST(parent, asWeightMatrix());
+    }
 
-        // Always include first 1st vertex in MST.
-        // Make key 0 so that this vertex is
-        // picked as first vertex
-        key[0] = 0;
+    // Dense O(V^2) Prim's, see DensePrimMST
+    public void primMST(WeightMatrix graph, MSTProgressListener listener) {
+        MSTMetrics metrics = MSTMetrics.begin(Algorithm.PRIM, getNumVertices());
+        long time = metrics != null ? System.nanoTime() : 0;
 
-        // Array to store constructed MST
-        int[] parent = new int[getNumVertices()];
-        // First node is always root of MST
-        parent[0] = -1;
-
-        // The MST will have V vertices
-        for (int count = 0; count < getNumVertices() - 1; count++) {
-
-            // Pick the minimum key vertex from the set of
-            // vertices not yet included in MST
-            int u = minKey(key, mstSet);
-
-            // Check if minKey returned a valid index
-            if (u != -1) {
-                // Add the picked vertex to the MST Set
-                mstSet[u] = true;
-
-                // Update key value and parent index of the
-                // adjacent vertices of the picked vertex.
-                // Consider only those vertices which are not
-                // yet included in MST
-                for (int v = 0; v < getNumVertices(); v++) {
-                    if (graph[u][v] != 0 && !mstSet[v]
-                            && graph[u][v] < key[v]) {
-                        parent[v] = u;
-                        key[v] = graph[u][v];
-                    }
+        int[] parent = DensePrimMST.run(graph, listener, null);
+
+        if (metrics != null) {
+            int trees = 0;
+            for (int p : parent) {
+                if (p == -1) {
+                    trees++;
                 }
             }
+            metrics.endPhase(MSTMetrics.Phase.SOLVE, time);
+            metrics.finish(parent.length - trees);
         }
 
         // Print the constructed MST
         printMST(parent, graph);
     }
 
+    // Minimum spanning forest with its connected components, see SpanningForest
+    public SpanningForest findMinimumSpanningForest() {
+        return findMinimumSpanningForest(this);
+    }
+
+    public static SpanningForest findMinimumSpanningForest(GraphInterface graph) {
+        int numVertices = graph.getNumVertices();
+        boolean[] removed = new boolean[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            removed[v] = !graph.containsVertex(v);
+        }
+        MSTMetrics metrics = MSTMetrics.begin(Algorithm.KRUSKAL, numVertices);
+        if (metrics == null) {
+            return KruskalMST.findMinimumSpanningForest(numVertices, graph.getEdgeList(), removed);
+        }
+        return findMinimumSpanningForest(numVertices, graph, removed, null, metrics);
+    }
+
+    // Instrumented Kruskal pass shared by findMinimumSpanningForest and kruskal
+    private static SpanningForest findMinimumSpanningForest(int numVertices, GraphInterface graph, boolean[] removed,
+                                                            MSTProgressListener listener, MSTMetrics metrics) {
+        long time = System.nanoTime();
+        PrimitiveEdgeList edges = graph.getEdgeList();
+        metrics.endPhase(MSTMetrics.Phase.EXTRACT, time);
+        SpanningForest forest = KruskalMST.findMinimumSpanningForest(numVertices, edges, removed, listener, metrics);
+        metrics.finish(forest.getEdges().size());
+        return forest;
+    }
+
     public List<Edge> getPrimMSTEdges() {
         return findMinimumSpanningTreeEdges(Algorithm.PRIM);
     }
 
     public void kruskal(int V) {
-        List<Edge> edges = getAllEdges();
-        edges.sort(Comparator.comparingInt(Edge::getWeight));
-
-        int j = 0;
-        int noOfEdges = 0;
-
-        // Allocate memory for creating V subsets
-        Subset[] subsets = new Subset[V];
-
-        // Allocate memory for results
-        Edge[] results = new Edge[V];
-
-        // Create V subsets with single elements
-        for (int i = 0; i < V; i++) {
-            subsets[i] = new Subset(i, 0);
-        }
-
-        // Number of edges to be taken is equal to V-1
-        while (noOfEdges < V - 1 && j < edges.size()) {
-            // Pick the smallest edge. And increment
-            // the index for next iteration
-            Edge nextEdge = edges.get(j);
-            int x = findRoot(subsets, nextEdge.getSrc());
-            int y = findRoot(subsets, nextEdge.getDest());
-
-            // If including this edge doesn't cause a cycle,
-            // include it in the result and increment the index
-            // of the result for the next edge
-            if (x != y) {
-                results[noOfEdges] = nextEdge;
-                union(subsets, x, y);
-                noOfEdges++;
-            }
+        kruskal(V, null);
+    }
 
-            j++;
-        }
+    // Same, reporting progress and cancellable like KruskalMST.findMinimumSpanningForest.
+    // With V = getNumVertices() the result is cached like getKruskalMSTEdges.
+    public void kruskal(int V, MSTProgressListener listener) {
+        List<Edge> results = V == getNumVertices()
+                ? getMinimumSpanningTree(Algorithm.KRUSKAL, listener).getEdges()
+                : kruskalForest(V, listener).getEdges();
+        int noOfEdges = results.size();
 
         // Print the contents of result[] to display the
         // built MST
         System.out.println("Following are the edges of the constructed MST:");
         int minCost = 0;
         for (int i = 0; i < noOfEdges; i++) {
-            System.out.println(results[i].getSrc() + " -- "
-                    + results[i].getDest() + " == "
-                    + results[i].getWeight());
-            minCost += results[i].getWeight();
+            System.out.println(results.get(i).getSrc() + " -- "
+                    + results.get(i).getDest() + " == "
+                    + results.get(i).getWeight());
+            minCost += results.get(i).getWeight();
         }
         System.out.println("Total cost of MST: " + minCost);
+        // A forest of V vertices has V - edges trees
+        if (V - noOfEdges > 1) {
+            System.out.println("The graph is not connected, these edges form a minimum spanning forest of "
+                    + (V - noOfEdges) + " trees");
+        }
+    }
+
+    private SpanningForest kruskalForest(int V, MSTProgressListener listener) {
+        MSTMetrics metrics = MSTMetrics.begin(Algorithm.KRUSKAL, V);
+        return metrics == null
+                ? KruskalMST.findMinimumSpanningForest(V, getEdgeList(), listener)
+                : findMinimumSpanningForest(V, this, null, listener, metrics);
     }
 
 
@@ -182,33 +321,15 @@ public class MinimumSpanningTree extends GraphUsingAdjacencyMatrix{
         return findMinimumSpanningTreeEdges(Algorithm.KRUSKAL);
     }
 
-    // Function to unite two disjoint sets
-    private static void union(Subset[] subsets, int x, int y) {
-        int rootX = findRoot(subsets, x);
-        int rootY = findRoot(subsets, y);
-
-        if (subsets[rootY].rank < subsets[rootX].rank) {
-            subsets[rootY].parent = rootX;
-        }
-        else if (subsets[rootX].rank < subsets[rootY].rank) {
-            subsets[rootX].parent = rootY;
-        }
-        else {
-            subsets[rootY].parent = rootX;
-            subsets[rootX].rank++;
-        }
+    public List<Edge> getBoruvkaMSTEdges() {
+        return findMinimumSpanningTreeEdges(Algorithm.BORUVKA);
     }
 
-    // Function to find parent of a set
-    private static int findRoot(Subset[] subsets, int i) {
-        if (subsets[i].parent == i) {
-            return subsets[i].parent;
-        }
-        subsets[i].parent = findRoot(subsets, subsets[i].parent);
-        return subsets[i].parent;
+    public List<Edge> getFilterKruskalMSTEdges() {
+        return findMinimumSpanningTreeEdges(Algorithm.FILTER_KRUSKAL);
     }
 
-    private enum Algorithm {
-        PRIM, KRUSKAL
+    public enum Algorithm {
+        PRIM, KRUSKAL, BORUVKA, FILTER_KRUSKAL
     }
 }
@@ -0,0 +1,279 @@
+package GraphRepresentations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
+
+// Immutable CSR graph whose arrays live outside the Java heap, for example
+// memory-mapped straight from a BinaryGraphFormat file. Same layout as
+// GraphUsingCSR, but offsets are longs so a graph may have more than 2^31 arcs.
+//
+// Only O(V) bookkeeping is on the heap while running PrimMST over it, so the
+// garbage collector never sees the edges and pauses do not grow with the graph.
+public class OffHeapGraphUsingCSR implements GraphInterface {
+    private final int numVertices;
+    private final OffHeapLongArray offsets;
+    private final OffHeapIntArray targets;
+    private final OffHeapIntArray weights;
+
+    OffHeapGraphUsingCSR(int numVertices, OffHeapLongArray offsets, OffHeapIntArray targets, OffHeapIntArray weights) {
+        this.numVertices = numVertices;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    // Number of undirected edges
+    public long getNumEdges() {
+        return targets.length() / 2;
+    }
+
+    public long getDegree(int vertex) {
+        return offsets.get(vertex + 1) - offsets.get(vertex);
+    }
+
+    long offset(int vertex) {
+        return offsets.get(vertex);
+    }
+
+    int target(long arc) {
+        return targets.get(arc);
+    }
+
+    int weight(long arc) {
+        return weights.get(arc);
+    }
+
+    OffHeapLongArray offsets() {
+        return offsets;
+    }
+
+    OffHeapIntArray targets() {
+        return targets;
+    }
+
+    OffHeapIntArray weights() {
+        return weights;
+    }
+
+    // Immutable, so always the same
+    public long getVersion() {
+        return 0;
+    }
+
+    public void addEdge(Edge edge) {
+        throw new UnsupportedOperationException("OffHeapGraphUsingCSR is immutable");
+    }
+
+    public void removeEdge(int source, int destination) {
+        throw new UnsupportedOperationException("OffHeapGraphUsingCSR is immutable");
+    }
+
+    public int addVertex() {
+        throw new UnsupportedOperationException("OffHeapGraphUsingCSR is immutable");
+    }
+
+    public void removeVertex(int vertex) {
+        throw new UnsupportedOperationException("OffHeapGraphUsingCSR is immutable");
+    }
+
+    public boolean containsVertex(int vertex) {
+        return vertex >= 0 && vertex < numVertices;
+    }
+
+    public boolean containsEdge(int source, int destination) {
+        if (containsVertex(source) && containsVertex(destination)) {
+            for (long i = offsets.get(source), end = offsets.get(source + 1); i < end; i++) {
+                if (targets.get(i) == destination) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            System.out.println("Invalid vertex index");
+            return false;
+        }
+    }
+
+    // Copies every edge onto the heap, only meant for graphs that fit there
+    public PrimitiveEdgeList getEdgeList() {
+        PrimitiveEdgeList edges = new PrimitiveEdgeList((int) Math.min(getNumEdges(), Integer.MAX_VALUE - 8));
+        for (int u = 0; u < numVertices; u++) {
+            for (long i = offsets.get(u), end = offsets.get(u + 1); i < end; i++) {
+                int v = targets.get(i);
+                if (u < v) {
+                    edges.add(u, v, weights.get(i));
+                }
+            }
+        }
+        return edges;
+    }
+
+    public void forEachNeighbor(int vertex, IntConsumer action) {
+        for (long i = offsets.get(vertex), end = offsets.get(vertex + 1); i < end; i++) {
+            action.accept(targets.get(i));
+        }
+    }
+
+    // Prints the vertices in depth-first order, see GraphTraversal for the non-printing API
+    public void traverseGraph(int startVertex) {
+        GraphTraversal.print(this, startVertex);
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int u = 0; u < numVertices; u++) {
+            sb.append(u).append(": ");
+            for (long i = offsets.get(u), end = offsets.get(u + 1); i < end; i++) {
+                sb.append(targets.get(i)).append("(").append(weights.get(i)).append(") ");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    // Builds an off-heap graph from edges that need not fit on the heap. Edges are
+    // spilled to a temporary file as they are added, and build() lays them out in
+    // two passes over that file, either in direct buffers or in a BinaryGraphFormat
+    // file that is mapped back. Heap usage is a fixed write buffer.
+    public static class Builder {
+        private static final int EDGE_BYTES = 3 * Integer.BYTES;
+        private static final int SPILL_BUFFER_SIZE = 1 << 20;
+
+        private final int fixedNumVertices;
+        private final Path spillFile;
+        private final FileChannel spill;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(SPILL_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private long numEdges;
+        private int maxVertex = -1;
+
+        public Builder() throws IOException {
+            this(-1);
+        }
+
+        public Builder(int numVertices) throws IOException {
+            this.fixedNumVertices = numVertices;
+            spillFile = Files.createTempFile("mst-edges", ".bin");
+            spillFile.toFile().deleteOnExit();
+            spill = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        public Builder addEdge(int source, int destination, int weight) throws IOException {
+            if (source < 0 || destination < 0
+                    || (fixedNumVertices >= 0 && (source >= fixedNumVertices || destination >= fixedNumVertices))) {
+                throw new IllegalArgumentException("Invalid vertex index: " + source + " -- " + destination);
+            }
+            // Self loops never belong to a spanning tree
+            if (source == destination) {
+                return this;
+            }
+            if (buffer.remaining() < EDGE_BYTES) {
+                flush();
+            }
+            buffer.putInt(source).putInt(destination).putInt(weight);
+            numEdges++;
+            maxVertex = Math.max(maxVertex, Math.max(source, destination));
+            return this;
+        }
+
+        public Builder addEdge(Edge edge) throws IOException {
+            return addEdge(edge.getSrc(), edge.getDest(), edge.getWeight());
+        }
+
+        public Builder addEdges(PrimitiveEdgeList edges) throws IOException {
+            for (int e = 0; e < edges.size(); e++) {
+                addEdge(edges.getSrc(e), edges.getDest(e), edges.getWeight(e));
+            }
+            return this;
+        }
+
+        // Graph in direct buffers, limited by -XX:MaxDirectMemorySize rather than -Xmx
+        public OffHeapGraphUsingCSR build() throws IOException {
+            int numVertices = numVertices();
+            return build(numVertices, OffHeapLongArray.allocate(numVertices + 1L),
+                    OffHeapIntArray.allocate(2 * numEdges), OffHeapIntArray.allocate(2 * numEdges));
+        }
+
+        // Graph written to path in BinaryGraphFormat and mapped, so it may also be larger than RAM
+        public OffHeapGraphUsingCSR build(Path path) throws IOException {
+            int numVertices = numVertices();
+            long numArcs = 2 * numEdges;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                BinaryGraphFormat.writeHeader(channel, numVertices, numArcs);
+
+                // Mapping past the end of the file extends it with zeros
+                long offsetsPosition = BinaryGraphFormat.HEADER_SIZE;
+                long targetsPosition = offsetsPosition + (numVertices + 1L) * Long.BYTES;
+                long weightsPosition = targetsPosition + numArcs * Integer.BYTES;
+                FileChannel.MapMode mode = FileChannel.MapMode.READ_WRITE;
+                return build(numVertices,
+                        OffHeapLongArray.map(channel, mode, offsetsPosition, numVertices + 1L),
+                        OffHeapIntArray.map(channel, mode, targetsPosition, numArcs),
+                        OffHeapIntArray.map(channel, mode, weightsPosition, numArcs));
+            }
+        }
+
+        private int numVertices() {
+            return fixedNumVertices >= 0 ? fixedNumVertices : maxVertex + 1;
+        }
+
+        // Counting pass into offsets, then a scatter pass that leaves offsets[v] at the
+        // end of v's arcs, so shifting them up by one gives the CSR offsets
+        private OffHeapGraphUsingCSR build(int numVertices, OffHeapLongArray offsets, OffHeapIntArray targets,
+                                           OffHeapIntArray weights) throws IOException {
+            flush();
+            try {
+                OffHeapIntArray edges = OffHeapIntArray.map(spill, FileChannel.MapMode.READ_ONLY, 0, 3 * numEdges);
+                for (long e = 0; e < 3 * numEdges; e += 3) {
+                    int u = edges.get(e);
+                    int v = edges.get(e + 1);
+                    offsets.set(u + 1, offsets.get(u + 1) + 1);
+                    offsets.set(v + 1, offsets.get(v + 1) + 1);
+                }
+                for (int v = 0; v < numVertices; v++) {
+                    offsets.set(v + 1, offsets.get(v + 1) + offsets.get(v));
+                }
+
+                for (long e = 0; e < 3 * numEdges; e += 3) {
+                    int u = edges.get(e);
+                    int v = edges.get(e + 1);
+                    int weight = edges.get(e + 2);
+                    long arc = offsets.get(u);
+                    targets.set(arc, v);
+                    weights.set(arc, weight);
+                    offsets.set(u, arc + 1);
+                    arc = offsets.get(v);
+                    targets.set(arc, u);
+                    weights.set(arc, weight);
+                    offsets.set(v, arc + 1);
+                }
+                for (int v = numVertices; v > 0; v--) {
+                    offsets.set(v, offsets.get(v - 1));
+                }
+                offsets.set(0, 0);
+            } finally {
+                spill.close();
+                Files.deleteIfExists(spillFile);
+            }
+            return new OffHeapGraphUsingCSR(numVertices, offsets, targets, weights);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                spill.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
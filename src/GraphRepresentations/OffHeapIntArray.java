@@ -0,0 +1,75 @@
+package GraphRepresentations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+// Little-endian int array outside the Java heap, indexed by long. A single
+// ByteBuffer cannot hold more than 2 GB, so the array is split into chunks of
+// 2^28 ints (1 GB) that are either memory-mapped from a file or allocated as
+// direct buffers.
+public class OffHeapIntArray {
+    static final int CHUNK_SHIFT = 28;
+    static final long CHUNK_LENGTH = 1L << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = (int) CHUNK_LENGTH - 1;
+
+    private final ByteBuffer[] chunks;
+    private final long length;
+
+    private OffHeapIntArray(ByteBuffer[] chunks, long length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    // Wraps length ints starting at byte position of the file, without copying them
+    public static OffHeapIntArray map(FileChannel channel, FileChannel.MapMode mode, long position, long length)
+            throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[numChunks(length)];
+        for (int c = 0; c < chunks.length; c++) {
+            long first = c * CHUNK_LENGTH;
+            long count = Math.min(CHUNK_LENGTH, length - first);
+            chunks[c] = channel.map(mode, position + first * Integer.BYTES, count * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new OffHeapIntArray(chunks, length);
+    }
+
+    // Zero-filled array in direct buffers, freed when the array is garbage collected
+    public static OffHeapIntArray allocate(long length) {
+        ByteBuffer[] chunks = new ByteBuffer[numChunks(length)];
+        for (int c = 0; c < chunks.length; c++) {
+            long count = Math.min(CHUNK_LENGTH, length - c * CHUNK_LENGTH);
+            chunks[c] = ByteBuffer.allocateDirect((int) (count * Integer.BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new OffHeapIntArray(chunks, length);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getInt(((int) index & CHUNK_MASK) << 2);
+    }
+
+    public void set(long index, int value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].putInt(((int) index & CHUNK_MASK) << 2, value);
+    }
+
+    // Writes the whole array at the channel's position, one chunk at a time
+    // straight from the off-heap buffers; they are already in file byte order
+    void writeTo(FileChannel channel) throws IOException {
+        for (ByteBuffer chunk : chunks) {
+            ByteBuffer view = chunk.duplicate();
+            view.clear();
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        }
+    }
+
+    static int numChunks(long length) {
+        return (int) ((length + CHUNK_LENGTH - 1) >>> CHUNK_SHIFT);
+    }
+}
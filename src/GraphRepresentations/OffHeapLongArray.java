@@ -0,0 +1,71 @@
+package GraphRepresentations;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+// Long counterpart of OffHeapIntArray, split into chunks of 2^27 longs (1 GB).
+public class OffHeapLongArray {
+    static final int CHUNK_SHIFT = 27;
+    static final long CHUNK_LENGTH = 1L << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = (int) CHUNK_LENGTH - 1;
+
+    private final ByteBuffer[] chunks;
+    private final long length;
+
+    private OffHeapLongArray(ByteBuffer[] chunks, long length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    public static OffHeapLongArray map(FileChannel channel, FileChannel.MapMode mode, long position, long length)
+            throws IOException {
+        ByteBuffer[] chunks = new ByteBuffer[numChunks(length)];
+        for (int c = 0; c < chunks.length; c++) {
+            long first = c * CHUNK_LENGTH;
+            long count = Math.min(CHUNK_LENGTH, length - first);
+            chunks[c] = channel.map(mode, position + first * Long.BYTES, count * Long.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new OffHeapLongArray(chunks, length);
+    }
+
+    // Zero-filled array in direct buffers, freed when the array is garbage collected
+    public static OffHeapLongArray allocate(long length) {
+        ByteBuffer[] chunks = new ByteBuffer[numChunks(length)];
+        for (int c = 0; c < chunks.length; c++) {
+            long count = Math.min(CHUNK_LENGTH, length - c * CHUNK_LENGTH);
+            chunks[c] = ByteBuffer.allocateDirect((int) (count * Long.BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new OffHeapLongArray(chunks, length);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long get(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].getLong(((int) index & CHUNK_MASK) << 3);
+    }
+
+    public void set(long index, long value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].putLong(((int) index & CHUNK_MASK) << 3, value);
+    }
+
+    // Writes the whole array at the channel's position, one chunk at a time
+    // straight from the off-heap buffers; they are already in file byte order
+    void writeTo(FileChannel channel) throws IOException {
+        for (ByteBuffer chunk : chunks) {
+            ByteBuffer view = chunk.duplicate();
+            view.clear();
+            while (view.hasRemaining()) {
+                channel.write(view);
+            }
+        }
+    }
+
+    static int numChunks(long length) {
+        return (int) ((length + CHUNK_LENGTH - 1) >>> CHUNK_SHIFT);
+    }
+}
@@ -0,0 +1,49 @@
+package GraphRepresentations;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Runs a body over [from, to) on a ForkJoinPool, halving the range until the
+// pieces are no longer than the grain size. Small ranges run on the caller.
+class ParallelRange extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    interface Body {
+        void run(int from, int to);
+    }
+
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final Body body;
+
+    private ParallelRange(int from, int to, int grain, Body body) {
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.body = body;
+    }
+
+    static void forEach(ForkJoinPool pool, int from, int to, int grain, Body body) {
+        if (to - from <= grain) {
+            body.run(from, to);
+        } else {
+            pool.invoke(new ParallelRange(from, to, Math.max(grain, 1), body));
+        }
+    }
+
+    // Grain that gives every worker a few pieces to balance the load
+    static int grainFor(ForkJoinPool pool, int size, int minGrain) {
+        return Math.max(minGrain, size / (pool.getParallelism() * 8));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            body.run(from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new ParallelRange(from, mid, grain, body), new ParallelRange(mid, to, grain, body));
+    }
+}
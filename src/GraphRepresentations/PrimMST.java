@@ -0,0 +1,128 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Prim's algorithm over adjacency arrays: the neighbours of vertex v are
+// targets[offsets[v] .. offsets[v + 1] - 1] with matching weights[].
+// Runs in O(E log V) using an indexed heap with decrease-key.
+//
+// The overloads only differ in how they walk the neighbours of a vertex; the
+// heap bookkeeping is shared in Run.
+public class PrimMST {
+    private PrimMST() {
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(GraphUsingCSR graph) {
+        return findMinimumSpanningTreeEdges(graph.getNumVertices(), graph.offsets(), graph.targets(), graph.weights());
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, int[] offsets, int[] targets, int[] weights) {
+        Run run = new Run(numVertices);
+        for (int u = run.nextVertex(); u != -1; u = run.nextVertex()) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                run.relax(u, targets[i], weights[i]);
+            }
+        }
+        return run.results;
+    }
+
+    // Edge list algorithm: the CSR arrays, heap and bookkeeping come from the workspace
+    public static List<Edge> findMinimumSpanningTreeEdges(int numVertices, PrimitiveEdgeList edges,
+                                                          MSTWorkspace workspace) {
+        workspace.buildCSR(numVertices, edges);
+        int[] offsets = workspace.offsets();
+        int[] targets = workspace.targets();
+        int[] weights = workspace.weights();
+        Run run = new Run(numVertices, workspace.inTree(numVertices), workspace.parent(numVertices),
+                workspace.heap(numVertices));
+        for (int u = run.nextVertex(); u != -1; u = run.nextVertex()) {
+            for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                run.relax(u, targets[i], weights[i]);
+            }
+        }
+        return run.results;
+    }
+
+    public static List<Edge> findMinimumSpanningTreeEdges(GraphUsingAdjacencyList graph) {
+        Run run = new Run(graph.getNumVertices());
+        for (int u = run.nextVertex(); u != -1; u = run.nextVertex()) {
+            int[] neighbors = graph.neighbors(u);
+            int[] weights = graph.weights(u);
+            for (int i = 0, degree = graph.getDegree(u); i < degree; i++) {
+                run.relax(u, neighbors[i], weights[i]);
+            }
+        }
+        return run.results;
+    }
+
+    // Same algorithm over an off-heap CSR graph, only the O(V) bookkeeping is on the heap
+    public static List<Edge> findMinimumSpanningTreeEdges(OffHeapGraphUsingCSR graph) {
+        Run run = new Run(graph.getNumVertices());
+        for (int u = run.nextVertex(); u != -1; u = run.nextVertex()) {
+            for (long i = graph.offset(u), end = graph.offset(u + 1); i < end; i++) {
+                run.relax(u, graph.target(i), graph.weight(i));
+            }
+        }
+        return run.results;
+    }
+
+    private static class Run {
+        private final int numVertices;
+        private final boolean[] inTree;
+        private final int[] parent;
+        private final IndexedMinHeap heap;
+        private final List<Edge> results;
+        private int nextRoot;
+
+        Run(int numVertices) {
+            this(numVertices, new boolean[numVertices], new int[numVertices], new IndexedMinHeap(numVertices));
+        }
+
+        // The arrays may be longer than numVertices; inTree must be false and heap empty
+        Run(int numVertices, boolean[] inTree, int[] parent, IndexedMinHeap heap) {
+            this.numVertices = numVertices;
+            this.inTree = inTree;
+            this.parent = parent;
+            this.heap = heap;
+            results = new ArrayList<>(Math.max(numVertices - 1, 0));
+        }
+
+        // Adds the closest vertex to the tree and returns it, or -1 when every vertex is in.
+        // Restarts from the next vertex not reached yet, so a disconnected graph yields a
+        // spanning forest, the same edges Kruskal would return.
+        int nextVertex() {
+            if (heap.isEmpty()) {
+                while (nextRoot < numVertices && inTree[nextRoot]) {
+                    nextRoot++;
+                }
+                if (nextRoot == numVertices) {
+                    return -1;
+                }
+                parent[nextRoot] = -1;
+                heap.insert(nextRoot, 0);
+            }
+
+            int key = heap.minKey();
+            int u = heap.pollMin();
+            inTree[u] = true;
+            if (parent[u] != -1) {
+                results.add(new Edge(parent[u], u, key));
+            }
+            return u;
+        }
+
+        void relax(int u, int v, int weight) {
+            if (inTree[v]) {
+                return;
+            }
+            if (!heap.contains(v)) {
+                parent[v] = u;
+                heap.insert(v, weight);
+            } else if (weight < heap.keyOf(v)) {
+                parent[v] = u;
+                heap.decreaseKey(v, weight);
+            }
+        }
+    }
+}
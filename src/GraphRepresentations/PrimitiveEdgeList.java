@@ -0,0 +1,104 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+
+// Growable edge list kept as parallel int arrays (struct of arrays), so large
+// edge sets can be stored and sorted without one Edge object per edge.
+public class PrimitiveEdgeList {
+    private int[] sources;
+    private int[] destinations;
+    private int[] weights;
+    private int size;
+
+    public PrimitiveEdgeList() {
+        this(16);
+    }
+
+    public PrimitiveEdgeList(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        sources = new int[capacity];
+        destinations = new int[capacity];
+        weights = new int[capacity];
+    }
+
+    public void add(int source, int destination, int weight) {
+        if (size == sources.length) {
+            grow(size + 1);
+        }
+        sources[size] = source;
+        destinations[size] = destination;
+        weights[size] = weight;
+        size++;
+    }
+
+    public void add(Edge edge) {
+        add(edge.getSrc(), edge.getDest(), edge.getWeight());
+    }
+
+    public void addAll(PrimitiveEdgeList other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.sources, 0, sources, size, other.size);
+        System.arraycopy(other.destinations, 0, destinations, size, other.size);
+        System.arraycopy(other.weights, 0, weights, size, other.size);
+        size += other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSrc(int index) {
+        return sources[index];
+    }
+
+    public int getDest(int index) {
+        return destinations[index];
+    }
+
+    public int getWeight(int index) {
+        return weights[index];
+    }
+
+    public Edge toEdge(int index) {
+        return new Edge(sources[index], destinations[index], weights[index]);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > sources.length) {
+            grow(capacity);
+        }
+    }
+
+    // For code that fills the backing arrays directly, after ensureCapacity
+    void setSize(int size) {
+        this.size = size;
+    }
+
+    // The backing arrays are shared with the MST engines; only the first size() entries are valid
+    int[] sources() {
+        return sources;
+    }
+
+    int[] destinations() {
+        return destinations;
+    }
+
+    int[] weights() {
+        return weights;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, sources.length + (sources.length >> 1) + 1);
+        sources = Arrays.copyOf(sources, capacity);
+        destinations = Arrays.copyOf(destinations, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+    }
+}
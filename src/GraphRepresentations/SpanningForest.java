@@ -0,0 +1,112 @@
+package GraphRepresentations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Minimum spanning forest of a possibly disconnected graph: one minimum
+// spanning tree per connected component. Built by KruskalMST from the union-find
+// it already has after its single pass over the edges, so components, their
+// edges and their weights come without traversing the graph again.
+//
+// Components are numbered 0 .. getNumComponents() - 1 in order of their
+// smallest vertex. Removed vertices of a graph belong to no component (-1).
+public class SpanningForest {
+    private final List<Edge> edges;
+    private final int[] componentOf;
+    private final int numComponents;
+    private final int[] componentSizes;
+    private final long[] componentWeights;
+    // Indices into edges, grouped by component: component c owns
+    // edgeOrder[edgeStart[c] .. edgeStart[c + 1] - 1]
+    private final int[] edgeStart;
+    private final int[] edgeOrder;
+
+    SpanningForest(List<Edge> edges, DisjointSet components, boolean[] removed) {
+        this.edges = Collections.unmodifiableList(edges);
+        int numVertices = components.size();
+
+        // Number the roots in vertex order; rootId[root] holds id + 1, 0 for unnumbered roots
+        componentOf = new int[numVertices];
+        int[] rootId = new int[numVertices];
+        int count = 0;
+        for (int v = 0; v < numVertices; v++) {
+            if (removed != null && removed[v]) {
+                componentOf[v] = -1;
+                continue;
+            }
+            int root = components.find(v);
+            if (rootId[root] == 0) {
+                rootId[root] = ++count;
+            }
+            componentOf[v] = rootId[root] - 1;
+        }
+        numComponents = count;
+
+        componentSizes = new int[numComponents];
+        for (int v = 0; v < numVertices; v++) {
+            if (componentOf[v] >= 0) {
+                componentSizes[componentOf[v]]++;
+            }
+        }
+
+        componentWeights = new long[numComponents];
+        edgeStart = new int[numComponents + 1];
+        for (Edge edge : edges) {
+            int c = componentOf[edge.getSrc()];
+            componentWeights[c] += edge.getWeight();
+            edgeStart[c + 1]++;
+        }
+        for (int c = 0; c < numComponents; c++) {
+            edgeStart[c + 1] += edgeStart[c];
+        }
+        edgeOrder = new int[edges.size()];
+        int[] next = new int[numComponents];
+        System.arraycopy(edgeStart, 0, next, 0, numComponents);
+        for (int e = 0; e < edges.size(); e++) {
+            edgeOrder[next[componentOf[edges.get(e).getSrc()]]++] = e;
+        }
+    }
+
+    public int getNumComponents() {
+        return numComponents;
+    }
+
+    // True if the graph is connected, so the forest is a single spanning tree
+    public boolean isSpanningTree() {
+        return numComponents <= 1;
+    }
+
+    public int getComponent(int vertex) {
+        return componentOf[vertex];
+    }
+
+    public int getComponentSize(int component) {
+        return componentSizes[component];
+    }
+
+    // Every forest edge, in the order Kruskal's algorithm accepted them
+    public List<Edge> getEdges() {
+        return edges;
+    }
+
+    public List<Edge> getEdges(int component) {
+        List<Edge> result = new ArrayList<>(edgeStart[component + 1] - edgeStart[component]);
+        for (int i = edgeStart[component]; i < edgeStart[component + 1]; i++) {
+            result.add(edges.get(edgeOrder[i]));
+        }
+        return result;
+    }
+
+    public long getTotalWeight(int component) {
+        return componentWeights[component];
+    }
+
+    public long getTotalWeight() {
+        long total = 0;
+        for (long weight : componentWeights) {
+            total += weight;
+        }
+        return total;
+    }
+}
@@ -1,9 +0,0 @@
-package GraphRepresentations;
-
-public class Subset {
-    int parent, rank;
-    public Subset(int parent, int rank) {
-        this.parent = parent;
-        this.rank = rank;
-    }
-}
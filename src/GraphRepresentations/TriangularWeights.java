@@ -0,0 +1,236 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+
+// Symmetric weight matrix that stores every pair {i, j} once: the upper
+// triangle and its diagonal, column by column, in one primitive array. Cell
+// (i, j) with i <= j is at j * (j + 1) / 2 + i, so column j is contiguous and a
+// new vertex only appends a column. Cells past the end of the array read as 0.
+//
+// Weights are kept in a byte[] while they all fit in a byte, then in a short[],
+// then in an int[]; the array is widened the first time a weight does not fit.
+// A graph of small weights therefore needs an eighth of an int[V][V] matrix.
+final class TriangularWeights {
+    // Largest vertex count whose cells can be indexed by an int
+    static final int MAX_VERTICES = 65535;
+
+    private byte[] bytes;
+    private short[] shorts;
+    private int[] ints;
+    // Bytes per cell: 1, 2 or 4
+    private int width = 1;
+    private int length;
+
+    TriangularWeights(int numVertices) {
+        length = cells(numVertices);
+        bytes = new byte[length];
+    }
+
+    static int cells(int numVertices) {
+        if (numVertices > MAX_VERTICES) {
+            throw new IllegalArgumentException("A dense matrix supports at most " + MAX_VERTICES + " vertices");
+        }
+        return (int) ((long) numVertices * (numVertices + 1) >>> 1);
+    }
+
+    static int index(int i, int j) {
+        if (i > j) {
+            int swap = i;
+            i = j;
+            j = swap;
+        }
+        return (int) (((long) j * (j + 1) >>> 1) + i);
+    }
+
+    int width() {
+        return width;
+    }
+
+    int get(int i, int j) {
+        return cell(index(i, j));
+    }
+
+    private int cell(int index) {
+        if (index >= length) {
+            return 0;
+        }
+        switch (width) {
+            case 1:
+                return bytes[index];
+            case 2:
+                return shorts[index];
+            default:
+                return ints[index];
+        }
+    }
+
+    // numVertices bounds how far the array grows ahead of the cell being set
+    void set(int i, int j, int weight, int numVertices) {
+        int index = index(i, j);
+        if (index >= length) {
+            if (weight == 0) {
+                return;
+            }
+            int limit = cells(Math.min(numVertices, MAX_VERTICES));
+            resize(Math.max(index + 1, (int) Math.min((long) length * 2, limit)));
+        }
+        if (weight < Byte.MIN_VALUE || weight > Byte.MAX_VALUE) {
+            widen(weight < Short.MIN_VALUE || weight > Short.MAX_VALUE ? 4 : 2);
+        }
+        switch (width) {
+            case 1:
+                bytes[index] = (byte) weight;
+                break;
+            case 2:
+                shorts[index] = (short) weight;
+                break;
+            default:
+                ints[index] = weight;
+                break;
+        }
+    }
+
+    // Copies the cells (row, from) .. (row, to - 1) into dest[from .. to - 1].
+    // Columns up to row are one contiguous run; past it the cells are one per
+    // column, each column further along than the last.
+    void copyRow(int row, int[] dest, int from, int to) {
+        int split = Math.max(from, Math.min(to, row + 1));
+        int start = index(from < split ? from : split, row);
+        int end = Math.min(start + split - from, length);
+        int c = from;
+        switch (width) {
+            case 1:
+                for (int k = start; k < end; k++) {
+                    dest[c++] = bytes[k];
+                }
+                break;
+            case 2:
+                for (int k = start; k < end; k++) {
+                    dest[c++] = shorts[k];
+                }
+                break;
+            default:
+                for (int k = start; k < end; k++) {
+                    dest[c++] = ints[k];
+                }
+                break;
+        }
+        Arrays.fill(dest, c, split, 0);
+
+        c = split;
+        int index = c < to ? index(row, c) : 0;
+        switch (width) {
+            case 1:
+                for (; c < to && index < length; index += ++c) {
+                    dest[c] = bytes[index];
+                }
+                break;
+            case 2:
+                for (; c < to && index < length; index += ++c) {
+                    dest[c] = shorts[index];
+                }
+                break;
+            default:
+                for (; c < to && index < length; index += ++c) {
+                    dest[c] = ints[index];
+                }
+                break;
+        }
+        Arrays.fill(dest, c, to, 0);
+    }
+
+    // Copies the cells (from, column) .. (to - 1, column), which are contiguous,
+    // into dest[0 .. to - from - 1]; to must not exceed column + 1
+    void copyColumn(int column, int from, int to, int[] dest) {
+        int start = index(from, column);
+        int end = Math.min(start + to - from, length);
+        int d = 0;
+        switch (width) {
+            case 1:
+                for (int k = start; k < end; k++) {
+                    dest[d++] = bytes[k];
+                }
+                break;
+            case 2:
+                for (int k = start; k < end; k++) {
+                    dest[d++] = shorts[k];
+                }
+                break;
+            default:
+                for (int k = start; k < end; k++) {
+                    dest[d++] = ints[k];
+                }
+                break;
+        }
+        Arrays.fill(dest, d, Math.max(d, to - from), 0);
+    }
+
+    // Sets the cells (row, 0) .. (row, to - 1) to 0
+    void clearRow(int row, int to) {
+        int start = index(0, row);
+        int end = Math.min(start + Math.min(to, row + 1), length);
+        int index = index(row, row + 1);
+        for (int c = row + 1; c < to && index < length; index += ++c) {
+            switch (width) {
+                case 1:
+                    bytes[index] = 0;
+                    break;
+                case 2:
+                    shorts[index] = 0;
+                    break;
+                default:
+                    ints[index] = 0;
+                    break;
+            }
+        }
+        if (start >= end) {
+            return;
+        }
+        switch (width) {
+            case 1:
+                Arrays.fill(bytes, start, end, (byte) 0);
+                break;
+            case 2:
+                Arrays.fill(shorts, start, end, (short) 0);
+                break;
+            default:
+                Arrays.fill(ints, start, end, 0);
+                break;
+        }
+    }
+
+    private void resize(int newLength) {
+        switch (width) {
+            case 1:
+                bytes = Arrays.copyOf(bytes, newLength);
+                break;
+            case 2:
+                shorts = Arrays.copyOf(shorts, newLength);
+                break;
+            default:
+                ints = Arrays.copyOf(ints, newLength);
+                break;
+        }
+        length = newLength;
+    }
+
+    private void widen(int newWidth) {
+        if (newWidth <= width) {
+            return;
+        }
+        if (newWidth == 2) {
+            shorts = new short[length];
+            for (int k = 0; k < length; k++) {
+                shorts[k] = bytes[k];
+            }
+        } else {
+            ints = new int[length];
+            for (int k = 0; k < length; k++) {
+                ints[k] = width == 1 ? bytes[k] : shorts[k];
+            }
+            shorts = null;
+        }
+        bytes = null;
+        width = newWidth;
+    }
+}
@@ -0,0 +1,76 @@
+package GraphRepresentations;
+
+import java.util.Arrays;
+
+// Vertex id bookkeeping shared by the mutable graphs. A removed vertex is only
+// marked as removed and its id goes on a free list, so removeVertex never
+// renumbers the other vertices and addVertex reuses freed ids before growing.
+// Ids stay stable until the graph is compacted.
+class VertexSlots {
+    private boolean[] removed;
+    private int[] free;
+    private int numFree;
+    private int bound;
+
+    VertexSlots(int numVertices) {
+        bound = numVertices;
+        removed = new boolean[Math.max(numVertices, 1)];
+        free = new int[4];
+    }
+
+    // One past the largest id handed out, removed ids included
+    int bound() {
+        return bound;
+    }
+
+    int capacity() {
+        return removed.length;
+    }
+
+    int numLive() {
+        return bound - numFree;
+    }
+
+    int numRemoved() {
+        return numFree;
+    }
+
+    boolean isLive(int vertex) {
+        return vertex >= 0 && vertex < bound && !removed[vertex];
+    }
+
+    // Returns a freed id if there is one, otherwise bound() before the call
+    int allocate() {
+        if (numFree > 0) {
+            int vertex = free[--numFree];
+            removed[vertex] = false;
+            return vertex;
+        }
+        if (bound == removed.length) {
+            removed = Arrays.copyOf(removed, removed.length * 2);
+        }
+        return bound++;
+    }
+
+    void release(int vertex) {
+        removed[vertex] = true;
+        if (numFree == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[numFree++] = vertex;
+    }
+
+    // Renumbers the live ids densely in their current order and returns the
+    // old id -> new id mapping, -1 for removed ids
+    int[] compact() {
+        int[] mapping = new int[bound];
+        int next = 0;
+        for (int v = 0; v < bound; v++) {
+            mapping[v] = removed[v] ? -1 : next++;
+        }
+        bound = next;
+        removed = new boolean[Math.max(next, 1)];
+        numFree = 0;
+        return mapping;
+    }
+}
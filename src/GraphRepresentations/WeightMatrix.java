@@ -0,0 +1,30 @@
+package GraphRepresentations;
+
+// Read-only square weight matrix, 0 meaning no edge. Views returned by the
+// graphs read the graph's own storage, so no copy is made and later changes
+// show through.
+public interface WeightMatrix {
+    int size();
+
+    int get(int row, int column);
+
+    // Fills dest[0 .. size() - 1] with the row, much faster than size() calls to get
+    void copyRow(int row, int[] dest);
+
+    // View of an int[][] matrix, which is not copied
+    static WeightMatrix of(int[][] matrix) {
+        return new WeightMatrix() {
+            public int size() {
+                return matrix.length;
+            }
+
+            public int get(int row, int column) {
+                return matrix[row][column];
+            }
+
+            public void copyRow(int row, int[] dest) {
+                System.arraycopy(matrix[row], 0, dest, 0, matrix.length);
+            }
+        };
+    }
+}